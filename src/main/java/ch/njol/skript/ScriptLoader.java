@@ -38,13 +38,16 @@ import ch.njol.skript.lang.SkriptEvent;
 import ch.njol.skript.lang.SkriptEventInfo;
 import ch.njol.skript.lang.SkriptParser;
 import ch.njol.skript.lang.Statement;
+import ch.njol.skript.lang.SyntaxElementIndex;
 import ch.njol.skript.lang.Trigger;
 import ch.njol.skript.lang.TriggerItem;
 import ch.njol.skript.lang.TriggerSection;
 import ch.njol.skript.lang.function.Function;
 import ch.njol.skript.lang.function.FunctionEvent;
 import ch.njol.skript.lang.function.Functions;
+import ch.njol.skript.lang.parser.ParseProfiler;
 import ch.njol.skript.lang.parser.ParserInstance;
+import ch.njol.skript.lang.util.ConstantFolding;
 import ch.njol.skript.localization.Message;
 import ch.njol.skript.localization.PluralizingArgsMessage;
 import ch.njol.skript.log.CountingLogHandler;
@@ -89,12 +92,13 @@ import java.util.Set;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Supplier;
 import java.util.logging.Level;
-import java.util.regex.Matcher;
 
 /**
  * The main class for loading, unloading and reloading scripts.
@@ -115,6 +119,7 @@ public class ScriptLoader {
 		SkriptEventHandler.removeAllTriggers();
 		Commands.clearCommands();
 		Functions.clearFunctions();
+		scriptParts.clear();
 	}
 	
 	/**
@@ -192,6 +197,29 @@ public class ScriptLoader {
 	 */
 	private static final Map<String, Set<String>> commandNames = new HashMap<>();
 	
+	/**
+	 * The triggers and commands of a loaded script by the text of the top-level node they were loaded from,
+	 * used to only re-parse the changed parts of a script when it is reloaded incrementally.
+	 */
+	private static class ScriptParts {
+		/**
+		 * The text of all top-level nodes other than triggers and commands, e.g. options, aliases and functions.
+		 * If this changes, the whole script is reloaded.
+		 */
+		public final String header;
+		public final Map<String, List<Trigger>> triggers = new HashMap<>();
+		public final Map<String, List<ScriptCommand>> commands = new HashMap<>();
+		
+		public ScriptParts(String header) {
+			this.header = header;
+		}
+	}
+	
+	/**
+	 * Parts of loaded scripts, only tracked if {@link SkriptConfig#incrementalScriptReload} is enabled
+	 */
+	private static final Map<File, ScriptParts> scriptParts = new ConcurrentHashMap<>();
+	
 	/**
 	 * @see ParserInstance#get()
 	 */
@@ -499,6 +527,10 @@ public class ScriptLoader {
 						scriptInfo.commands,
 						start.difference(new Date())
 					));
+				if (Skript.logVeryHigh()) {
+					Skript.info("Syntax pattern prefilter: " + SyntaxElementIndex.getStatistics());
+					Skript.info("Constant folding: " + ConstantFolding.getStatistics());
+				}
 			});
 	}
 	
@@ -511,6 +543,13 @@ public class ScriptLoader {
 	 * @return Info on the loaded scripts.
 	 */
 	public static CompletableFuture<ScriptInfo> loadScripts(List<Config> configs, OpenCloseable openCloseable) {
+		return loadScripts(configs, openCloseable, false);
+	}
+	
+	/**
+	 * @param incremental Whether to keep the unchanged triggers and commands of the scripts, see {@link #reloadScript(File, OpenCloseable)}
+	 */
+	private static CompletableFuture<ScriptInfo> loadScripts(List<Config> configs, OpenCloseable openCloseable, boolean incremental) {
 		AtomicBoolean syncCommands = new AtomicBoolean();
     
 		Bukkit.getPluginManager().callEvent(new PreScriptLoadEvent(configs));
@@ -523,7 +562,7 @@ public class ScriptLoader {
 				throw new NullPointerException();
 			
 			CompletableFuture<Void> future = makeFuture(() -> {
-				ScriptInfo info = loadScript(config);
+				ScriptInfo info = loadScript(config, incremental);
 				
 				// Check if commands have been changed and a re-send is needed
 				if (!info.commandNames.equals(commandNames.get(config.getFileName()))) {
@@ -580,10 +619,13 @@ public class ScriptLoader {
 	 * Loads one script. Only for internal use, as this doesn't register/update
 	 * event handlers.
 	 * @param config Config for script to be loaded.
+	 * @param incremental Whether to keep the triggers and commands of the previously loaded version of the script
+	 *                       whose nodes didn't change instead of parsing them again. Functions are kept as well.
+	 *                       Must only be used if the {@link ScriptParts#header} of the script didn't change.
 	 * @return Info about script that is loaded
 	 */
 	// Whenever you call this method, make sure to also call PreScriptLoadEvent
-	private static ScriptInfo loadScript(@Nullable Config config) {
+	private static ScriptInfo loadScript(@Nullable Config config, boolean incremental) {
 		if (config == null) { // Something bad happened, hopefully got logged to console
 			return new ScriptInfo();
 		}
@@ -596,6 +638,23 @@ public class ScriptLoader {
 		ScriptInfo scriptInfo = new ScriptInfo();
 		scriptInfo.files = 1; // Loading one script
 		
+		// Unchanged parts of the previous version of the script, which are not parsed again
+		File scriptFile = config.getFile();
+		ScriptParts previous = incremental && scriptFile != null ? scriptParts.get(scriptFile) : null;
+		ScriptParts parts = scriptFile != null && SkriptConfig.incrementalScriptReload.value() ? new ScriptParts(getHeader(config)) : null;
+		// Copies of the previous parts to take the kept ones from, as the stored parts must stay intact if the script fails to load
+		Map<String, List<Trigger>> previousTriggers = previous != null ? copyParts(previous.triggers) : null;
+		Map<String, List<ScriptCommand>> previousCommands = previous != null ? copyParts(previous.commands) : null;
+		List<NonNullPair<SectionNode, Trigger>> keptTriggers = new ArrayList<>();
+		
+		// Triggers are parsed in parallel if enabled, this script is loaded by an async loader and there are other async loaders to help
+		boolean parallel = isParallel() && SkriptConfig.parallelTriggerParsing.value() && !Bukkit.isPrimaryThread();
+		List<TriggerTask> triggerTasks = new ArrayList<>();
+		Set<ScriptCommand> keptCommands = new HashSet<>();
+		// The texts of the nodes of triggers and commands, which must be computed before they are parsed, as parsing may change the nodes
+		Map<ScriptCommand, String> commandTexts = new HashMap<>();
+		Map<SectionNode, String> triggerTexts = new HashMap<>();
+		
 		try {
 			if (SkriptConfig.keepConfigsLoaded.value())
 				SkriptConfig.configs.add(config);
@@ -701,13 +760,41 @@ public class ScriptLoader {
 					if (!SkriptParser.validateLine(event))
 						continue;
 					
+					String text = parts != null && isPart(node) ? getText(node) : null;
+					if (previousTriggers != null && previousCommands != null && text != null) {
+						List<ScriptCommand> sameCommands = previousCommands.get(text);
+						if (sameCommands != null && !sameCommands.isEmpty()) {
+							ScriptCommand c = sameCommands.remove(sameCommands.size() - 1);
+							keptCommands.add(c);
+							commandTexts.put(c, text);
+							scriptInfo.commandNames.add(c.getName());
+							scriptInfo.commands++;
+							continue;
+						}
+						List<Trigger> sameTriggers = previousTriggers.get(text);
+						if (sameTriggers != null && !sameTriggers.isEmpty()) {
+							keptTriggers.add(new NonNullPair<>(node, sameTriggers.remove(sameTriggers.size() - 1)));
+							triggerTexts.put(node, text);
+							scriptInfo.triggers++;
+							continue;
+						}
+					}
+					
 					if (event.toLowerCase(Locale.ENGLISH).startsWith("command ")) {
 						
 						getParser().setCurrentEvent("command", CommandEvent.class);
 						
-						ScriptCommand c = Commands.loadCommand(node, false);
+						ScriptCommand c;
+						ParseProfiler.startLine(node);
+						try {
+							c = Commands.loadCommand(node, false);
+						} finally {
+							ParseProfiler.endLine(node);
+						}
 						if (c != null) {
 							commands.add(c);
+							if (text != null)
+								commandTexts.put(c, text);
 							scriptInfo.commandNames.add(c.getName()); // For tab completion
 							scriptInfo.commands++;
 						}
@@ -717,9 +804,20 @@ public class ScriptLoader {
 						continue;
 					} else if (event.toLowerCase(Locale.ENGLISH).startsWith("function ")) {
 						
+						if (previous != null) { // Functions are part of the header, so they didn't change and are still loaded
+							scriptInfo.functions++;
+							continue;
+						}
+						
 						getParser().setCurrentEvent("function", FunctionEvent.class);
 						
-						Function<?> func = Functions.loadFunction(node);
+						Function<?> func;
+						ParseProfiler.startLine(node);
+						try {
+							func = Functions.loadFunction(node);
+						} finally {
+							ParseProfiler.endLine(node);
+						}
 						if (func != null) {
 							scriptInfo.functions++;
 						}
@@ -732,34 +830,41 @@ public class ScriptLoader {
 					if (Skript.logVeryHigh() && !Skript.debug())
 						Skript.info("loading trigger '" + event + "'");
 					
-					if (StringUtils.startsWithIgnoreCase(event, "on "))
-						event = "" + event.substring("on ".length());
+					if (text != null)
+						triggerTexts.put(node, text);
 					
-					event = replaceOptions(event);
+					if (parallel) {
+						// Parsed by the async loaders, and by this thread once all other nodes are loaded
+						TriggerTask task = new TriggerTask(config, node, event);
+						triggerTasks.add(task);
+						loadQueue.add(task);
+						continue;
+					}
 					
-					NonNullPair<SkriptEventInfo<?>, SkriptEvent> parsedEvent = SkriptParser.parseEvent(event, "Can't understand this event: '" + node.getKey() + "'");
-					if (parsedEvent == null || !parsedEvent.getSecond().shouldLoadEvent())
+					ParsedEventData parsedEvent = parseTrigger(node, event);
+					if (parsedEvent == null)
 						continue;
 					
-					if (Skript.debug() || node.debug())
-						Skript.debug(SkriptColor.replaceColorChar(event + " (" + parsedEvent.getSecond().toString(null, true) + "):"));
-
-					Class<? extends Event>[] eventClasses = parsedEvent.getSecond().getEventClasses();
-					if (eventClasses == null)
-						eventClasses = parsedEvent.getFirst().events;
-					try {
-						getParser().setCurrentEvent(parsedEvent.getFirst().getName().toLowerCase(Locale.ENGLISH), eventClasses);
-						getParser().setCurrentSkriptEvent(parsedEvent.getSecond());
-						events.add(new ParsedEventData(parsedEvent, event, node, loadItems(node)));
-					} finally {
-						getParser().deleteCurrentEvent();
-						getParser().deleteCurrentSkriptEvent();
+					if (parsedEvent.info.getSecond() instanceof SelfRegisteringSkriptEvent) {
+						((SelfRegisteringSkriptEvent) parsedEvent.info.getSecond()).afterParse(config);
 					}
 					
-					if (parsedEvent.getSecond() instanceof SelfRegisteringSkriptEvent) {
-						((SelfRegisteringSkriptEvent) parsedEvent.getSecond()).afterParse(config);
+					events.add(parsedEvent);
+					scriptInfo.triggers++;
+				}
+				
+				// Collect the triggers parsed in parallel in the order they appear in the script, as if they were parsed here
+				for (TriggerTask task : triggerTasks) {
+					task.run(); // Parse it here if no async loader has started to do so yet
+					ParsedEventData parsedEvent = task.await();
+					if (parsedEvent == null)
+						continue;
+					
+					if (parsedEvent.info.getSecond() instanceof SelfRegisteringSkriptEvent) {
+						((SelfRegisteringSkriptEvent) parsedEvent.info.getSecond()).afterParse(config);
 					}
 					
+					events.add(parsedEvent);
 					scriptInfo.triggers++;
 				}
 				
@@ -772,6 +877,8 @@ public class ScriptLoader {
 		} catch (Exception e) {
 			//noinspection ThrowableNotThrown
 			Skript.exception(e, "Could not load " + config.getFileName());
+			for (TriggerTask task : triggerTasks)
+				task.cancel();
 		} finally {
 			SkriptLogger.setNode(null);
 		}
@@ -781,7 +888,26 @@ public class ScriptLoader {
 			// Unload script IF we're doing async stuff
 			// (else it happened already)
 			File file = config.getFile();
-			if (isAsync()) {
+			// The triggers to add, with the events to add them for
+			List<NonNullPair<Class<? extends Event>[], Trigger>> addedTriggers = new ArrayList<>();
+			if (previous != null) {
+				// Only unload the changed parts of the script. Kept triggers are removed as well, and added again below
+				// along with the re-parsed ones, so that all triggers are in the order of the script as after a full reload.
+				Set<Trigger> kept = new HashSet<>();
+				for (NonNullPair<SectionNode, Trigger> pair : keptTriggers) {
+					Trigger trigger = pair.getSecond();
+					trigger.setLineNumber(pair.getFirst().getLine());
+					trigger.setDebugLabel(config.getFileName() + ": line " + pair.getFirst().getLine());
+					kept.add(trigger);
+				}
+				for (Map.Entry<Trigger, Class<? extends Event>[]> entry : SkriptEventHandler.getEvents(kept).entrySet())
+					addedTriggers.add(new NonNullPair<>(entry.getValue(), entry.getKey()));
+				ScriptInfo info = SkriptEventHandler.removeTriggers(file, keptCommands);
+				info.commands += keptCommands.size(); // kept commands are counted as loaded again
+				synchronized (loadedScripts) {
+					loadedScripts.subtract(info);
+				}
+			} else if (isAsync() || incremental) {
 				if (file != null)
 					unloadScript_(file);
 			}
@@ -790,6 +916,14 @@ public class ScriptLoader {
 			for (ScriptCommand command : commands) {
 				Commands.registerCommand(command);
 			}
+			if (parts != null) {
+				for (Map.Entry<ScriptCommand, String> entry : commandTexts.entrySet()) {
+					if (Commands.isRegistered(entry.getKey()))
+						addPart(parts.commands, entry.getValue(), entry.getKey());
+				}
+				for (NonNullPair<SectionNode, Trigger> pair : keptTriggers)
+					addPart(parts.triggers, triggerTexts.get(pair.getFirst()), pair.getSecond());
+			}
 			
 			for (ParsedEventData event : events) {
 				Class<? extends Event>[] eventClasses = event.info.getSecond().getEventClasses();
@@ -811,19 +945,29 @@ public class ScriptLoader {
 					((SelfRegisteringSkriptEvent) event.info.getSecond()).register(trigger);
 					SkriptEventHandler.addSelfRegisteringTrigger(trigger);
 				} else {
-					SkriptEventHandler.addTrigger(event.info.getFirst().events, trigger);
+					addedTriggers.add(new NonNullPair<>(event.info.getFirst().events, trigger));
+					// Self registering triggers are always reloaded, as they might do something when they are (un)registered
+					if (parts != null)
+						addPart(parts.triggers, triggerTexts.get(event.node), trigger);
 				}
 				
 				getParser().deleteCurrentEvent();
 				getParser().deleteCurrentSkriptEvent();
 			}
 			
+			// The order is stable, so that triggers on the same line keep their order
+			addedTriggers.sort((a, b) -> Integer.compare(a.getSecond().getLineNumber(), b.getSecond().getLineNumber()));
+			for (NonNullPair<Class<? extends Event>[], Trigger> pair : addedTriggers)
+				SkriptEventHandler.addTrigger(pair.getFirst(), pair.getSecond());
+			
 			// Remove the script from the disabled scripts list
 			File disabledFile = new File(file.getParentFile(), "-" + file.getName());
 			disabledFiles.remove(disabledFile);
 			
 			// Add to loaded files to use for future reloads
 			loadedFiles.add(file);
+			if (parts != null)
+				scriptParts.put(file, parts);
 			
 			return null;
 		};
@@ -841,6 +985,213 @@ public class ScriptLoader {
 		return scriptInfo;
 	}
 	
+	/**
+	 * Parses the trigger of the given node.
+	 * 
+	 * @param event The key of the node
+	 * @return The parsed trigger, or null if it can't be parsed or shouldn't be loaded
+	 */
+	@Nullable
+	private static ParsedEventData parseTrigger(SectionNode node, String event) {
+		ParseProfiler.startLine(node);
+		try {
+			return parseTrigger_(node, event);
+		} finally {
+			ParseProfiler.endLine(node);
+		}
+	}
+	
+	@Nullable
+	private static ParsedEventData parseTrigger_(SectionNode node, String event) {
+		if (StringUtils.startsWithIgnoreCase(event, "on "))
+			event = "" + event.substring("on ".length());
+		
+		event = replaceOptions(event);
+		
+		NonNullPair<SkriptEventInfo<?>, SkriptEvent> parsedEvent = SkriptParser.parseEvent(event, "Can't understand this event: '" + node.getKey() + "'");
+		if (parsedEvent == null || !parsedEvent.getSecond().shouldLoadEvent())
+			return null;
+		
+		if (Skript.debug() || node.debug())
+			Skript.debug(SkriptColor.replaceColorChar(event + " (" + parsedEvent.getSecond().toString(null, true) + "):"));
+		
+		Class<? extends Event>[] eventClasses = parsedEvent.getSecond().getEventClasses();
+		if (eventClasses == null)
+			eventClasses = parsedEvent.getFirst().events;
+		try {
+			getParser().setCurrentEvent(parsedEvent.getFirst().getName().toLowerCase(Locale.ENGLISH), eventClasses);
+			getParser().setCurrentSkriptEvent(parsedEvent.getSecond());
+			TypeHints.clear(); // Type hints of other triggers don't apply here
+			return new ParsedEventData(parsedEvent, event, node, loadItems(node));
+		} finally {
+			getParser().deleteCurrentEvent();
+			getParser().deleteCurrentSkriptEvent();
+		}
+	}
+	
+	/**
+	 * A trigger which is parsed by an async loader while the rest of its script is loaded.
+	 * It is parsed with the options and aliases of the script at the time the task was created,
+	 * and everything it logs is retained until the loading thread collects it with {@link #await()},
+	 * so that parsing triggers in parallel gives the same result as parsing them in order.
+	 * <p>
+	 * The current script is set without notifying addons' {@link ParserInstance.Data}, as the loading thread may run the task itself in the middle of the script.
+	 * Addons' data of the parsing thread thus doesn't contain what earlier parts of the script set up, which is why this is only done if enabled in the config.
+	 */
+	private static class TriggerTask implements Runnable {
+		
+		private final Config config;
+		private final SectionNode node;
+		private final String event;
+		private final Map<String, String> options;
+		@Nullable
+		private final ScriptAliases aliases;
+		
+		private final AtomicBoolean started = new AtomicBoolean();
+		private final CountDownLatch done = new CountDownLatch(1);
+		
+		@Nullable
+		private ParsedEventData result;
+		@Nullable
+		private RetainingLogHandler log;
+		@Nullable
+		private Throwable error;
+		
+		public TriggerTask(Config config, SectionNode node, String event) {
+			this.config = config;
+			this.node = node;
+			this.event = event;
+			this.options = new HashMap<>(getParser().getCurrentOptions());
+			this.aliases = Aliases.getScriptAliases();
+		}
+		
+		/**
+		 * Parses the trigger, unless another thread already started to do so
+		 */
+		@Override
+		public void run() {
+			if (!started.compareAndSet(false, true))
+				return;
+			
+			// The loading thread may run this task itself, so its state must be restored afterwards
+			ParserInstance parser = getParser();
+			Config previousScript = parser.getCurrentScript();
+			Map<String, String> previousOptions = new HashMap<>(parser.getCurrentOptions());
+			ScriptAliases previousAliases = Aliases.getScriptAliases();
+			
+			RetainingLogHandler log = SkriptLogger.startRetainingLog();
+			try {
+				parser.setCurrentScriptWithoutData(config);
+				parser.getCurrentOptions().clear();
+				parser.getCurrentOptions().putAll(options);
+				Aliases.setScriptAliases(aliases);
+				result = parseTrigger(node, event);
+			} catch (Throwable t) {
+				error = t;
+			} finally {
+				log.stop();
+				this.log = log;
+				
+				parser.setCurrentScriptWithoutData(previousScript);
+				parser.getCurrentOptions().clear();
+				parser.getCurrentOptions().putAll(previousOptions);
+				Aliases.setScriptAliases(previousAliases);
+				SkriptLogger.setNode(null);
+				
+				done.countDown();
+			}
+		}
+		
+		/**
+		 * Prevents this task from being started if it wasn't started yet
+		 */
+		public void cancel() {
+			started.set(true);
+		}
+		
+		/**
+		 * Waits until the trigger is parsed, then logs what was logged while parsing it on the current thread.
+		 * 
+		 * @return The parsed trigger, or null if it can't be parsed or shouldn't be loaded
+		 */
+		@Nullable
+		public ParsedEventData await() {
+			try {
+				done.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new RuntimeException(e);
+			}
+			RetainingLogHandler log = this.log;
+			assert log != null;
+			log.printLog();
+			
+			Throwable error = this.error;
+			if (error instanceof RuntimeException)
+				throw (RuntimeException) error;
+			if (error instanceof Error)
+				throw (Error) error;
+			return result;
+		}
+		
+	}
+	
+	private static <T> Map<String, List<T>> copyParts(Map<String, List<T>> parts) {
+		Map<String, List<T>> copy = new HashMap<>();
+		for (Map.Entry<String, List<T>> entry : parts.entrySet())
+			copy.put(entry.getKey(), new ArrayList<>(entry.getValue()));
+		return copy;
+	}
+	
+	private static <T> void addPart(Map<String, List<T>> parts, @Nullable String text, T part) {
+		if (text != null)
+			parts.computeIfAbsent(text, k -> new ArrayList<>()).add(part);
+	}
+	
+	/**
+	 * @return Whether the given top-level node is a trigger or command, i.e. can be reloaded on its own
+	 */
+	private static boolean isPart(Node node) {
+		if (!(node instanceof SectionNode))
+			return false;
+		String key = node.getKey();
+		if (key == null)
+			return false;
+		key = key.toLowerCase(Locale.ENGLISH);
+		return !key.equals("aliases") && !key.equals("options") && !key.equals("variables") && !key.startsWith("function ");
+	}
+	
+	/**
+	 * @return The text of all top-level nodes of the given script which are not triggers or commands
+	 */
+	private static String getHeader(Config config) {
+		StringBuilder b = new StringBuilder();
+		for (Node node : config.getMainNode()) {
+			if (!isPart(node))
+				appendText(b, node);
+		}
+		return b.toString();
+	}
+	
+	/**
+	 * @return The text of the given node and its subnodes, excluding empty lines
+	 */
+	private static String getText(Node node) {
+		StringBuilder b = new StringBuilder();
+		appendText(b, node);
+		return b.toString();
+	}
+	
+	private static void appendText(StringBuilder b, Node node) {
+		if (node.isVoid())
+			return;
+		b.append(node.save()).append('\n');
+		if (node instanceof SectionNode) {
+			for (Node n : (SectionNode) node)
+				appendText(b, n);
+		}
+	}
+	
 	
 	/*
 	 * Structure loading methods
@@ -897,7 +1248,6 @@ public class ScriptLoader {
 	 * actually loading that script.
 	 * @param f Script file.
 	 */
-	@SuppressWarnings("resource") // Stream is closed in Config constructor called in loadStructure
 	@Nullable
 	public static Config loadStructure(File f) {
 		if (!f.exists()) { // If file does not exist...
@@ -905,11 +1255,33 @@ public class ScriptLoader {
 			return null;
 		}
 		
+		Config config = readScript(f);
+		return config == null ? null : loadStructure(config);
+	}
+	
+	/**
+	 * Loads structure of given script, currently only for functions. Must be called before
+	 * actually loading that script.
+	 * @param source Source input stream.
+	 * @param name Name of source "file".
+	 */
+	@Nullable
+	public static Config loadStructure(InputStream source, String name) {
+		Config config = readScript(source, name);
+		return config == null ? null : loadStructure(config);
+	}
+	
+	/**
+	 * Reads the given script without loading its structure.
+	 */
+	@SuppressWarnings("resource") // Stream is closed in Config constructor
+	@Nullable
+	private static Config readScript(File f) {
 		try {
 			String name = Skript.getInstance().getDataFolder().toPath().toAbsolutePath()
 					.resolve(Skript.SCRIPTSFOLDER).relativize(f.toPath().toAbsolutePath()).toString();
 			assert name != null;
-			return loadStructure(new FileInputStream(f), name);
+			return readScript(new FileInputStream(f), name);
 		} catch (IOException e) {
 			Skript.error("Could not load " + f.getName() + ": " + ExceptionUtils.toString(e));
 		}
@@ -917,16 +1289,10 @@ public class ScriptLoader {
 		return null;
 	}
 	
-	/**
-	 * Loads structure of given script, currently only for functions. Must be called before
-	 * actually loading that script.
-	 * @param source Source input stream.
-	 * @param name Name of source "file".
-	 */
 	@Nullable
-	public static Config loadStructure(InputStream source, String name) {
+	private static Config readScript(InputStream source, String name) {
 		try {
-			Config config = new Config(
+			return new Config(
 				source,
 				name,
 				Skript.getInstance().getDataFolder().toPath().resolve(Skript.SCRIPTSFOLDER).resolve(name).toFile(),
@@ -934,7 +1300,6 @@ public class ScriptLoader {
 				false,
 				":"
 			);
-			return loadStructure(config);
 		} catch (IOException e) {
 			Skript.error("Could not load " + name + ": " + ExceptionUtils.toString(e));
 		}
@@ -1025,6 +1390,7 @@ public class ScriptLoader {
 			}
 			
 			loadedFiles.remove(script); // We just unloaded it, so...
+			scriptParts.remove(script);
 			disabledFiles.add(new File(script.getParentFile(), "-" + script.getName()));
 			
 			// Clear functions, DO NOT validate them yet
@@ -1047,10 +1413,29 @@ public class ScriptLoader {
 	 */
 	/**
 	 * Reloads a single script.
+	 * <p>
+	 * If {@link SkriptConfig#incrementalScriptReload} is enabled and only triggers and commands of the script changed,
+	 * only those are parsed again, and the other triggers, commands and functions of the script stay loaded.
 	 * @param script Script file.
 	 * @return Future of statistics of the newly loaded script.
 	 */
 	public static CompletableFuture<ScriptInfo> reloadScript(File script, OpenCloseable openCloseable) {
+		ScriptParts previous = scriptParts.get(script);
+		if (previous != null && SkriptConfig.incrementalScriptReload.value() && script.exists()) {
+			Config config = readScript(script);
+			if (config == null)
+				return CompletableFuture.completedFuture(new ScriptInfo());
+			if (previous.header.equals(getHeader(config)))
+				return loadScripts(Collections.singletonList(config), openCloseable, true);
+			if (!isAsync())
+				unloadScript_(script);
+			config = loadStructure(config);
+			Functions.validateFunctions();
+			if (config == null)
+				return CompletableFuture.completedFuture(new ScriptInfo());
+			return loadScripts(Collections.singletonList(config), openCloseable);
+		}
+		
 		if (!isAsync()) {
 			unloadScript_(script);
 		}
@@ -1083,16 +1468,29 @@ public class ScriptLoader {
 	 * Replaces options in a string.
 	 */
 	public static String replaceOptions(String s) {
-		String r = StringUtils.replaceAll(s, "\\{@(.+?)\\}", m -> {
-			String option = getParser().getCurrentOptions().get(m.group(1));
+		int start = s.indexOf("{@");
+		if (start == -1) // most lines don't use options
+			return s;
+		Map<String, String> options = getParser().getCurrentOptions();
+		StringBuilder b = new StringBuilder(s.length());
+		int last = 0;
+		while (start != -1) {
+			int end = s.indexOf('}', start + 3); // option names are at least one character long
+			if (end == -1)
+				break;
+			b.append(s, last, start);
+			String option = options.get(s.substring(start + 2, end));
 			if (option == null) {
-				Skript.error("undefined option " + m.group());
-				return m.group();
+				Skript.error("undefined option " + s.substring(start, end + 1));
+				b.append(s, start, end + 1);
+			} else {
+				b.append(option);
 			}
-			return Matcher.quoteReplacement(option);
-		});
-		assert r != null;
-		return r;
+			last = end + 1;
+			start = s.indexOf("{@", last);
+		}
+		b.append(s, last, s.length());
+		return b.toString();
 	}
 	
 	/**
@@ -1111,7 +1509,13 @@ public class ScriptLoader {
 				if (!SkriptParser.validateLine(expr))
 					continue;
 
-				Statement stmt = Statement.parse(expr, "Can't understand this condition/effect: " + expr);
+				Statement stmt;
+				ParseProfiler.startLine(n);
+				try {
+					stmt = Statement.parse(expr, "Can't understand this condition/effect: " + expr);
+				} finally {
+					ParseProfiler.endLine(n);
+				}
 				if (stmt == null)
 					continue;
 
@@ -1125,7 +1529,13 @@ public class ScriptLoader {
 					continue;
 				TypeHints.enterScope(); // Begin conditional type hints
 
-				Section section = Section.parse(expr, "Can't understand this section: " + expr, (SectionNode) n, items);
+				Section section;
+				ParseProfiler.startLine(n);
+				try {
+					section = Section.parse(expr, "Can't understand this section: " + expr, (SectionNode) n, items);
+				} finally {
+					ParseProfiler.endLine(n);
+				}
 				if (section == null)
 					continue;
 
@@ -45,7 +45,9 @@ import ch.njol.skript.lang.ExpressionType;
 import ch.njol.skript.lang.Section;
 import ch.njol.skript.lang.SkriptEvent;
 import ch.njol.skript.lang.SkriptEventInfo;
+import ch.njol.skript.lang.SkriptParser;
 import ch.njol.skript.lang.Statement;
+import ch.njol.skript.lang.SyntaxElementIndex;
 import ch.njol.skript.lang.SyntaxElementInfo;
 import ch.njol.skript.lang.Trigger;
 import ch.njol.skript.lang.TriggerItem;
@@ -75,6 +77,7 @@ import ch.njol.skript.util.EmptyStacktraceException;
 import ch.njol.skript.util.ExceptionUtils;
 import ch.njol.skript.util.FileUtils;
 import ch.njol.skript.util.Getter;
+import ch.njol.skript.util.StartupTimings;
 import ch.njol.skript.util.Task;
 import ch.njol.skript.util.Utils;
 import ch.njol.skript.util.Version;
@@ -122,16 +125,21 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.util.logging.Filter;
@@ -298,6 +306,11 @@ public final class Skript extends JavaPlugin implements Listener {
 
 	private static final Set<Class<? extends Hook<?>>> disabledHookRegistrations = new HashSet<>();
 	private static boolean finishedLoadingHooks = false;
+	
+	/**
+	 * The packages of Skript's own syntax elements, relative to <tt>ch.njol.skript</tt>
+	 */
+	private static final String[] SYNTAX_PACKAGES = {"conditions", "effects", "events", "expressions", "entity", "sections"};
 
 	/**
 	 * Checks whether a hook has been enabled.
@@ -428,6 +441,7 @@ public final class Skript extends JavaPlugin implements Listener {
 		}
 		
 		// Load classes which are always safe to use
+		long phaseStart = StartupTimings.start();
 		new JavaClasses(); // These may be needed in configuration
 		
 		// And then not-so-safe classes
@@ -437,10 +451,13 @@ public final class Skript extends JavaPlugin implements Listener {
 		} catch (Throwable e) {
 			classLoadError = e;
 		}
+		StartupTimings.finish("java and skript classes", phaseStart);
 		
 		// Config must be loaded after Java and Skript classes are parseable
 		// ... but also before platform check, because there is a config option to ignore some errors
+		phaseStart = StartupTimings.start();
 		SkriptConfig.load();
+		StartupTimings.finish("config", phaseStart);
 		
 		// Check server software, Minecraft version, etc.
 		if (!checkServerPlatform()) {
@@ -459,6 +476,18 @@ public final class Skript extends JavaPlugin implements Listener {
 		
 		BukkitUnsafe.initialize(); // Needed for aliases
 		
+		// Syntax elements use aliases when they are initialised, but reading their classes doesn't, so that is done while the aliases load
+		CompletableFuture<Void> syntaxPreload = CompletableFuture.runAsync(() -> {
+			long start = StartupTimings.start();
+			try {
+				getAddonInstance().preloadClasses("ch.njol.skript", SYNTAX_PACKAGES);
+			} catch (IOException ignored) {
+				// reported when the classes are loaded
+			}
+			StartupTimings.finish("syntax class preloading (background)", start);
+		});
+		
+		phaseStart = StartupTimings.start();
 		try {
 			Aliases.load(); // Loaded before anything that might use them
 		} catch (StackOverflowError e) {
@@ -472,6 +501,7 @@ public final class Skript extends JavaPlugin implements Listener {
 				throw e; // Uh oh, this shouldn't happen. Re-throw the error.
 			}
 		}
+		StartupTimings.finish("aliases", phaseStart);
 		
 		// If loading can continue (platform ok), check for potentially thrown error
 		if (classLoadError != null) {
@@ -486,6 +516,7 @@ public final class Skript extends JavaPlugin implements Listener {
 		skriptCommand.setTabCompleter(new SkriptCommandTabCompleter());
 		
 		// Load Bukkit stuff. It is done after platform check, because something might be missing!
+		phaseStart = StartupTimings.start();
 		new BukkitClasses();
 		new BukkitEventValues();
 		
@@ -494,14 +525,22 @@ public final class Skript extends JavaPlugin implements Listener {
 		new DefaultFunctions();
 		
 		ChatMessages.registerListeners();
+		StartupTimings.finish("bukkit classes", phaseStart);
 		
 		try {
-			getAddonInstance().loadClasses("ch.njol.skript", "conditions", "effects", "events", "expressions", "entity", "sections");
+			syntaxPreload.join();
+		} catch (CompletionException ignored) {
+			// the classes are searched and read again below
+		}
+		phaseStart = StartupTimings.start();
+		try {
+			getAddonInstance().loadClasses("ch.njol.skript", SYNTAX_PACKAGES);
 		} catch (final Exception e) {
 			exception(e, "Could not load required .class files: " + e.getLocalizedMessage());
 			setEnabled(false);
 			return;
 		}
+		StartupTimings.finish("syntax elements", phaseStart);
 
 		Commands.registerListeners();
 		
@@ -516,6 +555,7 @@ public final class Skript extends JavaPlugin implements Listener {
 				assert Bukkit.getWorlds().get(0).getFullTime() == tick;
 				
 				// Load hooks from Skript jar
+				long hooksStart = StartupTimings.start();
 				try {
 					try (JarFile jar = new JarFile(getFile())) {
 						for (final JarEntry e : new EnumerationIterable<>(jar.entries())) {
@@ -540,6 +580,7 @@ public final class Skript extends JavaPlugin implements Listener {
 					Skript.exception(e);
 				}
 				finishedLoadingHooks = true;
+				StartupTimings.finish("hooks", hooksStart);
 				
 				if (TestMode.ENABLED) {
 					info("Preparing Skript for testing...");
@@ -560,6 +601,7 @@ public final class Skript extends JavaPlugin implements Listener {
 				if (logNormal())
 					info("Loading variables...");
 				final long vls = System.currentTimeMillis();
+				long variablesStart = StartupTimings.start();
 				
 				LogHandler h = SkriptLogger.startLogHandler(new ErrorDescLogHandler() {
 					@Override
@@ -595,6 +637,7 @@ public final class Skript extends JavaPlugin implements Listener {
 				} finally {
 					h.stop();
 				}
+				StartupTimings.finish("variables", variablesStart);
 				
 				// Skript initialization done
 				debug("Early init done");
@@ -774,9 +817,16 @@ public final class Skript extends JavaPlugin implements Listener {
 				/*
 				 * Start loading scripts
 				 */
+				long scriptsStart = StartupTimings.start();
 				ScriptLoader.loadScripts(OpenCloseable.EMPTY)
 					.thenAccept(unused -> {
+						StartupTimings.finish("scripts", scriptsStart);
 						Skript.info(m_finished_loading.toString());
+						if (logHigh()) {
+							info("Startup phases (see /skript profile startup):");
+							for (String phase : StartupTimings.getReport())
+								info(phase);
+						}
 						
 						// EvtSkript.onSkriptStart should be called on main server thread
 						if (!ScriptLoader.isAsync()) {
@@ -1218,8 +1268,25 @@ public final class Skript extends JavaPlugin implements Listener {
 		acceptRegistrations = false;
 		
 		Converters.createMissingConverters();
+		Comparators.onRegistrationsStop();
 		
 		Classes.onRegistrationsStop();
+		
+		// conditions and effects are statements
+		for (SyntaxElementInfo<?> info : statements)
+			info.compilePatterns();
+		for (SyntaxElementInfo<?> info : sections)
+			info.compilePatterns();
+		for (SyntaxElementInfo<?> info : expressions)
+			info.compilePatterns();
+		for (SyntaxElementInfo<?> info : events)
+			info.compilePatterns();
+		
+		statementIndex.build();
+		conditionIndex.build();
+		effectIndex.build();
+		sectionIndex.build();
+		expressionIndex.build();
 	}
 	
 	// ================ ADDONS ================
@@ -1277,6 +1344,11 @@ public final class Skript extends JavaPlugin implements Listener {
 	private final static Collection<SyntaxElementInfo<? extends Effect>> effects = new ArrayList<>(50);
 	private final static Collection<SyntaxElementInfo<? extends Statement>> statements = new ArrayList<>(100);
 	private final static Collection<SyntaxElementInfo<? extends Section>> sections = new ArrayList<>(50);
+	
+	private final static SyntaxElementIndex<SyntaxElementInfo<? extends Condition>> conditionIndex = new SyntaxElementIndex<>(conditions);
+	private final static SyntaxElementIndex<SyntaxElementInfo<? extends Effect>> effectIndex = new SyntaxElementIndex<>(effects);
+	private final static SyntaxElementIndex<SyntaxElementInfo<? extends Statement>> statementIndex = new SyntaxElementIndex<>(statements);
+	private final static SyntaxElementIndex<SyntaxElementInfo<? extends Section>> sectionIndex = new SyntaxElementIndex<>(sections);
 
 	/**
 	 * registers a {@link Condition}.
@@ -1335,11 +1407,32 @@ public final class Skript extends JavaPlugin implements Listener {
 	public static Collection<SyntaxElementInfo<? extends Section>> getSections() {
 		return sections;
 	}
+	
+	/**
+	 * @return An index of {@link #getStatements()} for {@link SkriptParser#parse(String, SyntaxElementIndex, ch.njol.util.Checker, String)}
+	 */
+	public static SyntaxElementIndex<SyntaxElementInfo<? extends Statement>> getStatementIndex() {
+		return statementIndex;
+	}
+	
+	public static SyntaxElementIndex<SyntaxElementInfo<? extends Condition>> getConditionIndex() {
+		return conditionIndex;
+	}
+	
+	public static SyntaxElementIndex<SyntaxElementInfo<? extends Effect>> getEffectIndex() {
+		return effectIndex;
+	}
+	
+	public static SyntaxElementIndex<SyntaxElementInfo<? extends Section>> getSectionIndex() {
+		return sectionIndex;
+	}
 
 	// ================ EXPRESSIONS ================
 	
 	private final static List<ExpressionInfo<?, ?>> expressions = new ArrayList<>(100);
 	
+	private final static SyntaxElementIndex<ExpressionInfo<?, ?>> expressionIndex = new SyntaxElementIndex<>(expressions);
+	
 	private final static int[] expressionTypesStartIndices = new int[ExpressionType.values().length];
 	
 	/**
@@ -1369,19 +1462,64 @@ public final class Skript extends JavaPlugin implements Listener {
 	}
 	
 	public static Iterator<ExpressionInfo<?, ?>> getExpressions(final Class<?>... returnTypes) {
-		return new CheckedIterator<>(getExpressions(), new NullableChecker<ExpressionInfo<?, ?>>() {
+		if (acceptRegistrations)
+			return new CheckedIterator<>(getExpressions(), getReturnTypeChecker(returnTypes));
+		return getCompatibleExpressions(returnTypes).iterator();
+	}
+	
+	/**
+	 * @return An index of all expressions for {@link SkriptParser#parse(String, SyntaxElementIndex, ch.njol.util.Checker, String)}
+	 */
+	public static SyntaxElementIndex<ExpressionInfo<?, ?>> getExpressionIndex() {
+		return expressionIndex;
+	}
+	
+	/**
+	 * @return A checker which accepts the expressions that may return one of the given types
+	 */
+	public static NullableChecker<ExpressionInfo<?, ?>> getReturnTypeChecker(final Class<?>... returnTypes) {
+		if (!acceptRegistrations) {
+			final Set<ExpressionInfo<?, ?>> compatible = getCompatibleExpressions(returnTypes);
+			return i -> i == null || compatible.contains(i);
+		}
+		return new NullableChecker<ExpressionInfo<?, ?>>() {
 			@Override
 			public boolean check(final @Nullable ExpressionInfo<?, ?> i) {
-				if (i == null || i.returnType == Object.class)
-					return true;
-				for (final Class<?> returnType : returnTypes) {
-					assert returnType != null;
-					if (Converters.converterExists(i.returnType, returnType))
-						return true;
-				}
-				return false;
+				return i == null || canReturn(i, returnTypes);
 			}
-		});
+		};
+	}
+	
+	private static boolean canReturn(final ExpressionInfo<?, ?> i, final Class<?>[] returnTypes) {
+		if (i.returnType == Object.class)
+			return true;
+		for (final Class<?> returnType : returnTypes) {
+			assert returnType != null;
+			if (Converters.converterExists(i.returnType, returnType))
+				return true;
+		}
+		return false;
+	}
+	
+	/**
+	 * The expressions which may return one of the requested types, in the order they are tried in, by the requested types.
+	 * Only filled after registrations have stopped, as no expressions or converters can be added after that.
+	 */
+	private final static Map<List<Class<?>>, Set<ExpressionInfo<?, ?>>> compatibleExpressions = new ConcurrentHashMap<>();
+	
+	private static Set<ExpressionInfo<?, ?>> getCompatibleExpressions(final Class<?>[] returnTypes) {
+		Set<ExpressionInfo<?, ?>> compatible = compatibleExpressions.get(Arrays.asList(returnTypes));
+		if (compatible != null)
+			return compatible;
+		compatible = new LinkedHashSet<>();
+		for (final ExpressionInfo<?, ?> i : expressions) {
+			if (canReturn(i, returnTypes))
+				compatible.add(i);
+		}
+		compatible = Collections.unmodifiableSet(compatible);
+		// the array may be reused by the caller, so the key must be a copy
+		final Set<ExpressionInfo<?, ?>> previous = compatibleExpressions.putIfAbsent(Arrays.asList(returnTypes.clone()), compatible);
+		return previous != null ? previous : compatible;
 	}
 	
 	// ================ EVENTS ================
@@ -31,6 +31,8 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.util.regex.Matcher;
@@ -87,46 +89,94 @@ public final class SkriptAddon {
 	 * @return This SkriptAddon
 	 */
 	public SkriptAddon loadClasses(String basePackage, String... subPackages) throws IOException {
+		List<String> classNames = preloadedClasses.remove(getPackagesKey(basePackage, subPackages));
+		if (classNames == null) {
+			classNames = findClasses(basePackage, subPackages);
+			
+			// Reading and defining the classes does not depend on their order, so it is done in parallel first.
+			// Their static initialisers register syntax elements, so those still run one after another below.
+			preloadClasses(classNames);
+		}
+		ClassLoader loader = plugin.getClass().getClassLoader();
+		
+		for (String c : classNames) {
+			try {
+				Class.forName(c, true, loader);
+			} catch (ClassNotFoundException ex) {
+				Skript.exception(ex, "Cannot load class " + c + " from " + this);
+			} catch (ExceptionInInitializerError err) {
+				Skript.exception(err.getCause(), this + "'s class " + c + " generated an exception while loading");
+			}
+		}
+		return this;
+	}
+	
+	/**
+	 * The names of the classes found by completed calls of {@link #preloadClasses(String, String...)}, by {@link #getPackagesKey(String, String...)}.
+	 * Removed by {@link #loadClasses(String, String...)}, so the jar is not searched again.
+	 */
+	private final Map<String, List<String>> preloadedClasses = new ConcurrentHashMap<>();
+	
+	/**
+	 * Reads and defines the classes {@link #loadClasses(String, String...)} would load with the same arguments, without initialising them.
+	 * As this does not register anything, it may be done on another thread while the plugin is doing something else,
+	 * leaving only the initialisation to {@link #loadClasses(String, String...)}, which doesn't repeat what this did if it has completed by then.
+	 * 
+	 * @throws IOException If some error occurred attempting to read the plugin's jar file.
+	 */
+	void preloadClasses(String basePackage, String... subPackages) throws IOException {
+		List<String> classNames = findClasses(basePackage, subPackages);
+		preloadClasses(classNames);
+		preloadedClasses.put(getPackagesKey(basePackage, subPackages), classNames);
+	}
+	
+	private static String getPackagesKey(String basePackage, String... subPackages) {
+		return basePackage + ":" + String.join(",", subPackages);
+	}
+	
+	private void preloadClasses(List<String> classNames) {
+		if (classNames.size() <= 1 || Runtime.getRuntime().availableProcessors() <= 1)
+			return;
+		ClassLoader loader = plugin.getClass().getClassLoader();
+		classNames.parallelStream().forEach(c -> {
+			try {
+				Class.forName(c, false, loader);
+			} catch (ClassNotFoundException | LinkageError ignored) {
+				// reported when the class is initialised
+			}
+		});
+	}
+	
+	/**
+	 * @return The names of the classes in the given packages, sorted case-insensitively
+	 */
+	private List<String> findClasses(String basePackage, String... subPackages) throws IOException {
 		assert subPackages != null;
-		JarFile jar = new JarFile(getFile());
+		String[] subPaths = new String[subPackages.length];
 		for (int i = 0; i < subPackages.length; i++)
-			subPackages[i] = subPackages[i].replace('.', '/') + "/";
-		basePackage = basePackage.replace('.', '/') + "/";
-		try {
-			List<String> classNames = new ArrayList<>();
-
+			subPaths[i] = subPackages[i].replace('.', '/') + "/";
+		String basePath = basePackage.replace('.', '/') + "/";
+		
+		List<String> classNames = new ArrayList<>();
+		try (JarFile jar = new JarFile(getFile())) {
 			for (JarEntry e : new EnumerationIterable<>(jar.entries())) {
-				if (e.getName().startsWith(basePackage) && e.getName().endsWith(".class")) {
-					boolean load = subPackages.length == 0;
-					for (String sub : subPackages) {
-						if (e.getName().startsWith(sub, basePackage.length())) {
+				if (e.getName().startsWith(basePath) && e.getName().endsWith(".class")) {
+					boolean load = subPaths.length == 0;
+					for (String sub : subPaths) {
+						if (e.getName().startsWith(sub, basePath.length())) {
 							load = true;
 							break;
 						}
 					}
-
+					
 					if (load)
 						classNames.add(e.getName().replace('/', '.').substring(0, e.getName().length() - ".class".length()));
 				}
 			}
-
-			classNames.sort(String::compareToIgnoreCase);
-
-			for (String c : classNames) {
-				try {
-					Class.forName(c, true, plugin.getClass().getClassLoader());
-				} catch (ClassNotFoundException ex) {
-					Skript.exception(ex, "Cannot load class " + c + " from " + this);
-				} catch (ExceptionInInitializerError err) {
-					Skript.exception(err.getCause(), this + "'s class " + c + " generated an exception while loading");
-				}
-			}
-		} finally {
-			try {
-				jar.close();
-			} catch (IOException e) {}
 		}
-		return this;
+		
+		classNames.sort(String::compareToIgnoreCase);
+		return classNames;
 	}
 	
 	@Nullable
@@ -38,6 +38,7 @@ import ch.njol.skript.aliases.Aliases;
 import ch.njol.skript.command.CommandHelp;
 import ch.njol.skript.config.Config;
 import ch.njol.skript.doc.HTMLGenerator;
+import ch.njol.skript.lang.parser.ParseProfiler;
 import ch.njol.skript.localization.ArgsMessage;
 import ch.njol.skript.localization.Language;
 import ch.njol.skript.localization.PluralizingArgsMessage;
@@ -49,6 +50,7 @@ import ch.njol.skript.tests.runner.TestTracker;
 import ch.njol.skript.util.ExceptionUtils;
 import ch.njol.skript.util.FileUtils;
 import ch.njol.skript.util.SkriptColor;
+import ch.njol.skript.util.StartupTimings;
 import ch.njol.util.OpenCloseable;
 import ch.njol.util.StringUtils;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
@@ -76,6 +78,11 @@ public class SkriptCommand implements CommandExecutor {
 			.add("check")
 			.add("changes")
 			.add("download")
+		).add(new CommandHelp("profile", SkriptColor.DARK_RED)
+			.add("start")
+			.add("stop")
+			.add("report")
+			.add("startup")
 		).add("info"
 		).add("help");
 	
@@ -323,6 +330,29 @@ public class SkriptCommand implements CommandExecutor {
 				} else if (args[1].equalsIgnoreCase("download")) {
 					updater.updateCheck(sender);
 				}
+			} else if (args[0].equalsIgnoreCase("profile")) {
+				if (args[1].equalsIgnoreCase("start")) {
+					ParseProfiler.reset();
+					ParseProfiler.setEnabled(true);
+					info(sender, "profile.started");
+				} else if (args[1].equalsIgnoreCase("stop")) {
+					ParseProfiler.setEnabled(false);
+					info(sender, "profile.stopped");
+				} else if (args[1].equalsIgnoreCase("report")) {
+					for (String line : ParseProfiler.getReport(10))
+						Skript.info(sender, line);
+					File reportFile = new File(Skript.getInstance().getDataFolder(), "parse-profile.txt");
+					try {
+						ParseProfiler.writeReport(reportFile, 100);
+						info(sender, "profile.report saved", reportFile.getPath());
+					} catch (IOException e) {
+						error(sender, "profile.report error", reportFile.getPath(), ExceptionUtils.toString(e));
+					}
+				} else if (args[1].equalsIgnoreCase("startup")) {
+					info(sender, "profile.startup");
+					for (String line : StartupTimings.getReport())
+						Skript.info(sender, line);
+				}
 			} else if (args[0].equalsIgnoreCase("info")) {
 				info(sender, "info.aliases");
 				info(sender, "info.documentation");
@@ -30,10 +30,13 @@ import ch.njol.skript.hooks.regions.GriefPreventionHook;
 import ch.njol.skript.hooks.regions.PreciousStonesHook;
 import ch.njol.skript.hooks.regions.ResidenceHook;
 import ch.njol.skript.hooks.regions.WorldGuardHook;
+import ch.njol.skript.lang.SyntaxElementIndex;
 import ch.njol.skript.lang.function.Function;
+import ch.njol.skript.lang.parser.ParseProfiler;
 import ch.njol.skript.localization.Language;
 import ch.njol.skript.log.SkriptLogger;
 import ch.njol.skript.log.Verbosity;
+import ch.njol.skript.registrations.Classes;
 import ch.njol.skript.timings.SkriptTimings;
 import ch.njol.skript.update.ReleaseChannel;
 import ch.njol.skript.util.FileUtils;
@@ -182,6 +185,13 @@ public class SkriptConfig {
 	public static final Option<Boolean> disableVariableStartingWithExpressionWarnings =
 		new Option<>("disable starting a variable's name with an expression warnings", false);
 	
+	public static final Option<Integer> variableSerializationCheckInterval = new Option<>("variable serialization check interval", 0)
+			.setter(Classes::setSerializationCheckInterval)
+			.optional(true);
+	
+	public static final Option<Boolean> compactVariablesFile = new Option<>("compact variables file", false)
+			.optional(true);
+	
 	@Deprecated
 	public static final Option<Boolean> enableScriptCaching = new Option<>("enable script caching", false)
 			.optional(true);
@@ -263,6 +273,20 @@ public class SkriptConfig {
 			})
 			.optional(true);
 	
+	public static final Option<Boolean> parallelTriggerParsing = new Option<>("parallel trigger parsing", false)
+			.optional(true);
+	
+	public static final Option<Boolean> parseDecisionCache = new Option<>("parse decision cache", false)
+			.setter(SyntaxElementIndex::setDecisionCacheEnabled)
+			.optional(true);
+	
+	public static final Option<Boolean> incrementalScriptReload = new Option<>("incremental script reload", false)
+			.optional(true);
+	
+	public static final Option<Boolean> parseProfiler = new Option<>("parse profiler", false)
+			.setter(ParseProfiler::setEnabled)
+			.optional(true);
+	
 	public static final Option<Boolean> allowUnsafePlatforms = new Option<>("allow unsafe platforms", false)
 			.optional(true);
 
@@ -271,6 +295,9 @@ public class SkriptConfig {
 	
 	public static final Option<Boolean> loadDefaultAliases = new Option<>("load default aliases", true)
 			.optional(true);
+	
+	public static final Option<Boolean> aliasCache = new Option<>("alias cache", false)
+			.optional(true);
 
 	public static final Option<Boolean> executeFunctionsWithMissingParams = new Option<>("execute functions with missing parameters", true)
 			.optional(true)
@@ -20,9 +20,12 @@ package ch.njol.skript;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.bukkit.Bukkit;
@@ -42,6 +45,7 @@ import org.eclipse.jdt.annotation.Nullable;
 
 import ch.njol.skript.ScriptLoader.ScriptInfo;
 import ch.njol.skript.command.Commands;
+import ch.njol.skript.command.ScriptCommand;
 import ch.njol.skript.lang.SelfRegisteringSkriptEvent;
 import ch.njol.skript.lang.Trigger;
 import ch.njol.skript.timings.SkriptTimings;
@@ -195,7 +199,30 @@ public abstract class SkriptEventHandler {
 		selfRegisteredTriggers.add(t);
 	}
 	
+	/**
+	 * @return The events each of the given triggers was added for with {@link #addTrigger(Class[], Trigger)}, in the order they were added
+	 */
+	@SuppressWarnings("unchecked")
+	static Map<Trigger, Class<? extends Event>[]> getEvents(Set<Trigger> triggers) {
+		Map<Trigger, List<Class<? extends Event>>> events = new HashMap<>();
+		for (NonNullPair<Class<? extends Event>, Trigger> pair : SkriptEventHandler.triggers) {
+			if (triggers.contains(pair.getSecond()))
+				events.computeIfAbsent(pair.getSecond(), t -> new ArrayList<>()).add(pair.getFirst());
+		}
+		Map<Trigger, Class<? extends Event>[]> r = new HashMap<>();
+		for (Map.Entry<Trigger, List<Class<? extends Event>>> e : events.entrySet())
+			r.put(e.getKey(), e.getValue().toArray(new Class[0]));
+		return r;
+	}
+	
 	static ScriptInfo removeTriggers(File script) {
+		return removeTriggers(script, Collections.emptySet());
+	}
+	
+	/**
+	 * Removes the triggers and commands of the given script, except for the given commands. Self registering triggers are always removed.
+	 */
+	static ScriptInfo removeTriggers(File script, Set<ScriptCommand> keepCommands) {
 		ScriptInfo info = new ScriptInfo();
 		info.files = 1;
 		
@@ -213,7 +240,7 @@ public abstract class SkriptEventHandler {
 			}
 		}
 		
-		info.commands = Commands.unregisterCommands(script);
+		info.commands = Commands.unregisterCommands(script, keepCommands);
 		
 		return info;
 	}
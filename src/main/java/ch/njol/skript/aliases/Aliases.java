@@ -18,8 +18,8 @@
  */
 package ch.njol.skript.aliases;
 
+import java.io.File;
 import java.io.IOException;
-import java.io.UncheckedIOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.file.FileSystem;
@@ -27,12 +27,18 @@ import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Optional;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.Material;
 import org.bukkit.NamespacedKey;
@@ -51,8 +57,10 @@ import ch.njol.skript.localization.Message;
 import ch.njol.skript.localization.Noun;
 import ch.njol.skript.localization.RegexMessage;
 import ch.njol.skript.log.BlockingLogHandler;
+import ch.njol.skript.log.RetainingLogHandler;
 import ch.njol.skript.log.SkriptLogger;
 import ch.njol.skript.util.EnchantmentType;
+import ch.njol.skript.util.FileUtils;
 import ch.njol.skript.util.Utils;
 import ch.njol.skript.util.Version;
 
@@ -62,15 +70,14 @@ public abstract class Aliases {
 	private static final AliasesParser parser = createParser(provider);
 	
 	/**
-	 * Current script aliases.
+	 * Current script aliases, per thread as scripts may be loaded by multiple threads.
 	 */
-	@Nullable
-	private static ScriptAliases scriptAliases;
+	private static final ThreadLocal<ScriptAliases> scriptAliases = new ThreadLocal<>();
 	
 	@Nullable
 	private static ItemType getAlias_i(final String s) {
 		// Check script aliases first
-		ScriptAliases aliases = scriptAliases;
+		ScriptAliases aliases = scriptAliases.get();
 		if (aliases != null) {
 			return aliases.provider.getAlias(s); // Delegates to global provider if needed
 		}
@@ -136,6 +143,11 @@ public abstract class Aliases {
 	@Nullable
 	static String blockGender = null;
 	
+	static {
+		// Item types are parsed with localised words like "of" and "every"
+		Language.addListener(provider::clearParsedItemTypes);
+	}
+	
 	// this is not an alias!
 	private final static ItemType everything = new ItemType();
 	static {
@@ -178,7 +190,7 @@ public abstract class Aliases {
 	@Nullable
 	private static MaterialName getMaterialNameData(ItemData type) {
 		// Check script aliases first
-		ScriptAliases aliases = scriptAliases;
+		ScriptAliases aliases = scriptAliases.get();
 		if (aliases != null) {
 			return aliases.provider.getMaterialName(type);
 		}
@@ -246,6 +258,20 @@ public abstract class Aliases {
 	 */
 	@Nullable
 	public static ItemType parseItemType(String s) {
+		// Script aliases delegate to the global ones, so they can't share their results
+		ScriptAliases aliases = scriptAliases.get();
+		AliasesProvider provider = aliases != null ? aliases.provider : Aliases.provider;
+		Optional<ItemType> cached = provider.getParsedItemType(s);
+		if (cached == null) {
+			ItemType parsed = parseItemType_i(s);
+			cached = Optional.ofNullable(parsed);
+			provider.putParsedItemType(s, parsed == null ? null : parsed.clone());
+		}
+		return cached.map(ItemType::clone).orElse(null);
+	}
+	
+	@Nullable
+	private static ItemType parseItemType_i(String s) {
 		if (s.isEmpty())
 			return null;
 		s = "" + s.trim();
@@ -415,9 +441,49 @@ public abstract class Aliases {
 	
 	private static void loadInternal() throws IOException {
 		Path dataFolder = Skript.getInstance().getDataFolder().toPath();
+		Path zipPath = dataFolder.resolve("aliases-english.zip");
+		Path aliasesFolder = dataFolder.resolve("aliases");
+		
+		AliasesCache cache = null;
+		if (SkriptConfig.aliasCache.value()) {
+			cache = new AliasesCache(dataFolder.resolve(ALIASES_CACHE_FILE).toFile(), getCacheFingerprint(zipPath, aliasesFolder));
+			if (cache.load(provider, Aliases::loadMissingAliases)) {
+				updateTrackedTypes();
+				return;
+			}
+			parser.setCache(cache);
+		}
+		try {
+			loadFiles(zipPath, aliasesFolder, cache);
+		} finally {
+			parser.setCache(null);
+		}
+		if (cache != null)
+			cache.save();
 		
+		updateTrackedTypes();
+	}
+	
+	private final static String ALIASES_CACHE_FILE = "aliases-cache.dat";
+	
+	/**
+	 * @return A string which changes whenever the aliases files, Skript or the server might have changed
+	 */
+	private static String getCacheFingerprint(Path zipPath, Path aliasesFolder) {
+		StringBuilder b = new StringBuilder();
+		b.append(Skript.getVersion()).append(';').append(Bukkit.getVersion());
+		b.append(";aliases ").append(SkriptConfig.loadDefaultAliases.value());
+		File jar = Skript.getAddonInstance().getFile();
+		if (jar != null)
+			FileUtils.appendStamps(b, jar);
+		FileUtils.appendStamps(b, zipPath.toFile());
+		FileUtils.appendStamps(b, aliasesFolder.toFile());
+		// writeUTF is limited to 65535 bytes
+		return b.length() > 4096 ? b.substring(0, 64) + b.toString().hashCode() + ':' + b.length() : b.toString();
+	}
+	
+	private static void loadFiles(Path zipPath, Path aliasesFolder, @Nullable AliasesCache cache) throws IOException {
 		// Load aliases.zip OR aliases from jar (never both)
-		Path zipPath = dataFolder.resolve("aliases-english.zip");
 		if (!SkriptConfig.loadDefaultAliases.value()) {
 			// Or do nothing, if user requested that default aliases are not loaded
 		} else if (Files.exists(zipPath)) { // Load if it exists
@@ -435,7 +501,13 @@ public abstract class Aliases {
 					Path aliasesPath = zipFs.getPath("/", "aliases-english");
 					assert aliasesPath != null;
 					loadDirectory(aliasesPath);
+					// The temporary aliases depend on the ones loaded before, so they are created again instead of being cached
+					if (cache != null) {
+						cache.recordMissingAliases();
+						parser.setCache(null);
+					}
 					loadMissingAliases();
+					parser.setCache(cache);
 				}
 			} catch (URISyntaxException e) {
 				assert false;
@@ -444,13 +516,12 @@ public abstract class Aliases {
 		}
 		
 		// Load everything from aliases folder (user aliases)
-		Path aliasesFolder = dataFolder.resolve("aliases");
 		if (Files.exists(aliasesFolder)) {
-			assert aliasesFolder != null;
 			loadDirectory(aliasesFolder);
 		}
-		
-		// Update tracked item types
+	}
+	
+	private static void updateTrackedTypes() {
 		for (Map.Entry<String, ItemType> entry : trackedTypes.entrySet()) {
 			@SuppressWarnings("null") // No null keys in this map
 			ItemType type = parseItemType(entry.getKey());
@@ -468,22 +539,64 @@ public abstract class Aliases {
 	 * @throws IOException If something goes wrong with loading.
 	 */
 	public static void loadDirectory(Path dir) throws IOException {
-		try {
-			Files.list(dir).sorted().forEach((f) -> {
-				assert f != null;
-				try {
-					String name = f.getFileName().toString();
-					if (Files.isDirectory(f) && !name.startsWith("."))
-						loadDirectory(f);
-					else if (name.endsWith(".sk"))
-						load(f);
-				} catch (IOException e) {
-					throw new UncheckedIOException(e);
-				}
-			});
-		} catch (UncheckedIOException e) {
-			throw e.getCause();
+		List<Path> files = new ArrayList<>();
+		findFiles(dir, files);
+		
+		// Reading the files doesn't depend on their order, so it's done in parallel,
+		// but the aliases are added in order, as they may use aliases and variations of previous files
+		List<AliasesFile> read = (files.size() > 1 ? files.parallelStream() : files.stream())
+				.map(AliasesFile::new)
+				.collect(Collectors.toList());
+		for (AliasesFile file : read) {
+			file.log.printLog();
+			IOException error = file.error;
+			if (error != null)
+				throw error;
+			Config config = file.config;
+			assert config != null;
+			load(config);
+		}
+	}
+	
+	/**
+	 * Adds the aliases files in the given directory and its subdirectories to the given list, in the order they are loaded in.
+	 */
+	private static void findFiles(Path dir, List<Path> files) throws IOException {
+		List<Path> paths;
+		try (Stream<Path> list = Files.list(dir)) {
+			paths = list.sorted().collect(Collectors.toList());
+		}
+		for (Path f : paths) {
+			String name = f.getFileName().toString();
+			if (Files.isDirectory(f) && !name.startsWith("."))
+				findFiles(f, files);
+			else if (name.endsWith(".sk"))
+				files.add(f);
+		}
+	}
+	
+	/**
+	 * An aliases file which has been read, possibly by another thread, with what was logged while reading it.
+	 */
+	private static class AliasesFile {
+		
+		@Nullable
+		private Config config;
+		@Nullable
+		private IOException error;
+		private final RetainingLogHandler log;
+		
+		public AliasesFile(Path f) {
+			log = SkriptLogger.startRetainingLog();
+			try {
+				config = new Config(f, false, false, "=");
+			} catch (IOException e) {
+				error = e;
+			} finally {
+				log.stop();
+			}
 		}
+		
 	}
 	
 	/**
@@ -518,7 +631,7 @@ public abstract class Aliases {
 	 */
 	@Nullable
 	public static String getMinecraftId(ItemData data) {
-		ScriptAliases aliases = scriptAliases;
+		ScriptAliases aliases = scriptAliases.get();
 		if (aliases != null) {
 			return aliases.provider.getMinecraftId(data);
 		}
@@ -533,7 +646,7 @@ public abstract class Aliases {
 	 */
 	@Nullable
 	public static EntityData<?> getRelatedEntity(ItemData data) {
-		ScriptAliases aliases = scriptAliases;
+		ScriptAliases aliases = scriptAliases.get();
 		if (aliases != null) {
 			return aliases.provider.getRelatedEntity(data);
 		}
@@ -602,6 +715,14 @@ public abstract class Aliases {
 	 * @param aliases Script aliases.
 	 */
 	public static void setScriptAliases(@Nullable ScriptAliases aliases) {
-		scriptAliases = aliases;
+		scriptAliases.set(aliases);
+	}
+	
+	/**
+	 * @return The script aliases used for lookups by the current thread, see {@link #setScriptAliases(ScriptAliases)}
+	 */
+	@Nullable
+	public static ScriptAliases getScriptAliases() {
+		return scriptAliases.get();
 	}
 }
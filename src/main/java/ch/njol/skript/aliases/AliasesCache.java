@@ -0,0 +1,210 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.aliases;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.eclipse.jdt.annotation.Nullable;
+
+import com.google.gson.Gson;
+
+import ch.njol.skript.Skript;
+import ch.njol.skript.aliases.AliasesProvider.AliasName;
+import ch.njol.skript.util.FileUtils;
+
+/**
+ * Records the aliases added while the aliases files are parsed, after their patterns and variations have been expanded,
+ * and saves them to a file, so that the next start can add them again without parsing the files.
+ * <p>
+ * The file is only read if its fingerprint matches the given one, which should change whenever an aliases file or the server might have changed.
+ */
+final class AliasesCache {
+	
+	private final static int MAGIC = 0x534B4143; // "SKAC"
+	private final static short FORMAT = 1;
+	
+	private final static Gson gson = new Gson();
+	
+	private final File file;
+	private final String fingerprint;
+	
+	/**
+	 * The aliases in the order they were added
+	 */
+	private final List<Entry> entries = new ArrayList<>();
+	
+	/**
+	 * How many of the entries were added before the temporary aliases for materials without an alias were created, or -1 if they weren't
+	 */
+	private int missingAliasesAt = -1;
+	
+	private final static class Entry {
+		
+		final AliasName name;
+		final String id;
+		@Nullable
+		final Map<String, Object> tags;
+		final Map<String, String> blockStates;
+		
+		Entry(AliasName name, String id, @Nullable Map<String, Object> tags, Map<String, String> blockStates) {
+			this.name = name;
+			this.id = id;
+			this.tags = tags;
+			this.blockStates = blockStates;
+		}
+		
+	}
+	
+	/**
+	 * @param file The file to save the aliases to
+	 * @param fingerprint A string identifying the aliases files and the server
+	 */
+	AliasesCache(File file, String fingerprint) {
+		this.file = file;
+		this.fingerprint = fingerprint;
+	}
+	
+	/**
+	 * Records an alias which has been added to the provider.
+	 * The given maps must be the ones which were passed to the provider, but not be modified by it, as they are saved later.
+	 */
+	void record(AliasName name, String id, @Nullable Map<String, Object> tags, Map<String, String> blockStates) {
+		entries.add(new Entry(name, id, tags, blockStates));
+	}
+	
+	/**
+	 * Records that the temporary aliases for materials without an alias are created at this point
+	 */
+	void recordMissingAliases() {
+		missingAliasesAt = entries.size();
+	}
+	
+	/**
+	 * Adds the saved aliases to the given provider in the order they were recorded.
+	 * Does nothing if the file doesn't exist or was saved with a different fingerprint.
+	 * 
+	 * @param loadMissingAliases Creates the temporary aliases for materials without an alias, if they were created when the aliases were recorded
+	 * @return Whether the aliases were read
+	 */
+	boolean load(AliasesProvider provider, Runnable loadMissingAliases) {
+		if (!file.exists())
+			return false;
+		List<Entry> entries = new ArrayList<>();
+		int missingAliasesAt;
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(new FileInputStream(file))))) {
+			if (in.readInt() != MAGIC || in.readShort() != FORMAT || !fingerprint.equals(in.readUTF()))
+				return false;
+			missingAliasesAt = in.readInt();
+			int size = in.readInt();
+			for (int i = 0; i < size; i++)
+				entries.add(readEntry(in));
+		} catch (IOException | RuntimeException e) {
+			Skript.warning("Could not read the aliases cache " + file.getName() + ": " + e.getLocalizedMessage());
+			return false;
+		}
+		
+		for (int i = 0; i < entries.size(); i++) {
+			if (i == missingAliasesAt)
+				loadMissingAliases.run();
+			Entry entry = entries.get(i);
+			try {
+				provider.addAlias(entry.name, entry.id, entry.tags, entry.blockStates);
+			} catch (InvalidMinecraftIdException e) {
+				Skript.error("Invalid Minecraft item id " + e.getId() + " in the aliases cache " + file.getName());
+			}
+		}
+		if (missingAliasesAt == entries.size())
+			loadMissingAliases.run();
+		return true;
+	}
+	
+	@SuppressWarnings("unchecked")
+	private static Entry readEntry(DataInputStream in) throws IOException {
+		AliasName name = new AliasName(in.readUTF(), in.readUTF(), in.readInt());
+		String id = in.readUTF().intern();
+		Map<String, Object> tags = null;
+		if (in.readBoolean()) {
+			// not readUTF, as tags may be longer than 65535 bytes
+			byte[] json = new byte[in.readInt()];
+			in.readFully(json);
+			tags = (Map<String, Object>) gson.fromJson(new String(json, StandardCharsets.UTF_8), Object.class);
+		}
+		int states = in.readInt();
+		Map<String, String> blockStates = new HashMap<>();
+		for (int i = 0; i < states; i++)
+			blockStates.put(in.readUTF(), in.readUTF());
+		return new Entry(name, id, tags, blockStates);
+	}
+	
+	/**
+	 * Saves the recorded aliases, replacing the file
+	 */
+	void save() {
+		File temp = new File(file.getPath() + ".temp");
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(new FileOutputStream(temp))))) {
+			out.writeInt(MAGIC);
+			out.writeShort(FORMAT);
+			out.writeUTF(fingerprint);
+			out.writeInt(missingAliasesAt);
+			out.writeInt(entries.size());
+			for (Entry entry : entries) {
+				out.writeUTF(entry.name.singular);
+				out.writeUTF(entry.name.plural);
+				out.writeInt(entry.name.gender);
+				out.writeUTF(entry.id);
+				Map<String, Object> tags = entry.tags;
+				out.writeBoolean(tags != null);
+				if (tags != null) {
+					byte[] json = gson.toJson(tags).getBytes(StandardCharsets.UTF_8);
+					out.writeInt(json.length);
+					out.write(json);
+				}
+				out.writeInt(entry.blockStates.size());
+				for (Map.Entry<String, String> state : entry.blockStates.entrySet()) {
+					out.writeUTF(state.getKey());
+					out.writeUTF(state.getValue());
+				}
+			}
+		} catch (IOException e) {
+			Skript.warning("Could not save the aliases cache " + file.getName() + ": " + e.getLocalizedMessage());
+			temp.delete();
+			return;
+		}
+		try {
+			FileUtils.move(temp, file, true);
+		} catch (IOException e) {
+			Skript.warning("Could not save the aliases cache " + file.getName() + ": " + e.getLocalizedMessage());
+		}
+	}
+	
+}
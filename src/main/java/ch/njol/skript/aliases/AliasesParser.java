@@ -66,6 +66,12 @@ public class AliasesParser {
 	 */
 	private final Map<String, Function<String,Boolean>> conditions;
 	
+	/**
+	 * Records the aliases which are added, if they should be cached.
+	 */
+	@Nullable
+	private AliasesCache cache;
+	
 	public AliasesParser(AliasesProvider provider) {
 		this.provider = provider;
 		this.conditions = new HashMap<>();
@@ -691,8 +697,13 @@ public class AliasesParser {
 					NonNullPair<String, String> forms = getAliasPlural(plain.getFirst()); // Singular and plural forms
 					
 					// Add alias to provider
-					provider.addAlias(new AliasesProvider.AliasName(forms.getFirst(), forms.getSecond(), plain.getSecond()),
-							id, merged.getTags(), merged.getBlockStates());
+					AliasesProvider.AliasName aliasName = new AliasesProvider.AliasName(forms.getFirst(), forms.getSecond(), plain.getSecond());
+					AliasesCache cache = this.cache;
+					// The provider may remove block states, so the cache needs a copy
+					Map<String, String> blockStates = cache != null ? new HashMap<>(merged.getBlockStates()) : merged.getBlockStates();
+					provider.addAlias(aliasName, id, merged.getTags(), merged.getBlockStates());
+					if (cache != null)
+						cache.record(aliasName, id, merged.getTags(), blockStates);
 				} catch (InvalidMinecraftIdException e) { // Spit out a more useful error message
 					Skript.error(m_invalid_minecraft_id.toString(e.getId()));
 				}
@@ -716,6 +727,14 @@ public class AliasesParser {
 		return result;
 	}
 	
+	/**
+	 * Sets the cache which records the aliases added by this parser from now on.
+	 * @param cache Aliases cache, or null to stop recording.
+	 */
+	void setCache(@Nullable AliasesCache cache) {
+		this.cache = cache;
+	}
+	
 	public void registerCondition(String name, Function<String, Boolean> condition) {
 		conditions.put(name, condition);
 	}
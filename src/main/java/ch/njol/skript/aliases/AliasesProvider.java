@@ -32,8 +32,10 @@ import org.eclipse.jdt.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * Provides aliases on Bukkit/Spigot platform.
@@ -164,6 +166,24 @@ public class AliasesProvider {
 	 */
 	private final AliasesMap aliasesMap;
 	
+	/**
+	 * Maximum number of results of {@link Aliases#parseItemType(String)} cached per provider
+	 */
+	private static final int MAX_PARSED_ITEM_TYPES = 1024;
+	
+	/**
+	 * Recent results of {@link Aliases#parseItemType(String)} with this provider by input, with an empty Optional denoting an invalid input.
+	 * Cleared whenever the aliases change. The cached item types are never returned directly, as item types are mutable.
+	 */
+	private final Map<String, Optional<ItemType>> parsedItemTypes = new LinkedHashMap<String, Optional<ItemType>>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+		
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Optional<ItemType>> eldest) {
+			return size() > MAX_PARSED_ITEM_TYPES;
+		}
+	};
+	
 	/**
 	 * Constructs a new aliases provider with no data.
 	 */
@@ -257,6 +277,8 @@ public class AliasesProvider {
 	 * @param blockStates Block states.
 	 */
 	public void addAlias(AliasName name, String id, @Nullable Map<String, Object> tags, Map<String, String> blockStates) {
+		clearParsedItemTypes();
+		
 		// First, try to find if aliases already has a type with this id
 		// (so that aliases can refer to each other)
 		ItemType typeOfId = getAlias(id);
@@ -389,6 +411,32 @@ public class AliasesProvider {
 		aliases.clear();
 		variations.clear();
 		aliasesMap.clear();
+		clearParsedItemTypes();
+	}
+	
+	/**
+	 * @param input The input given to {@link Aliases#parseItemType(String)}
+	 * @return The cached result for the given input, which must not be modified, an empty Optional if the input is not an item type,
+	 * or null if there is no cached result
+	 */
+	@Nullable
+	synchronized Optional<ItemType> getParsedItemType(String input) {
+		return parsedItemTypes.get(input);
+	}
+	
+	/**
+	 * @param input The input given to {@link Aliases#parseItemType(String)}
+	 * @param type The result, which must not be modified afterwards, or null if the input is not an item type
+	 */
+	synchronized void putParsedItemType(String input, @Nullable ItemType type) {
+		parsedItemTypes.put(input, Optional.ofNullable(type));
+	}
+	
+	/**
+	 * Forgets the cached results of {@link Aliases#parseItemType(String)}, e.g. when aliases or the language change
+	 */
+	synchronized void clearParsedItemTypes() {
+		parsedItemTypes.clear();
 	}
 
 	public int getAliasCount() {
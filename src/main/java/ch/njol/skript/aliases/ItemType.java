@@ -25,6 +25,8 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -108,6 +110,42 @@ public class ItemType implements Unit, Iterable<ItemData>, Container<ItemStack>,
 	 */
 	final ArrayList<ItemData> types = new ArrayList<>(2);
 	
+	/**
+	 * The materials of {@link #types}, used to reject items of other materials without comparing them to each type.
+	 * Computed when first needed and reset whenever the types change.
+	 */
+	@Nullable
+	private transient volatile Set<Material> materials;
+	
+	/**
+	 * Legacy (before 1.13) blocks whose item has a different material, e.g. the cauldron block and its item
+	 */
+	private static final Map<Material, Material> legacyBlockItems = new EnumMap<>(Material.class);
+	
+	static {
+		String[][] legacyBlocks = {
+			{"ACACIA_DOOR", "ACACIA_DOOR_ITEM"},
+			{"BIRCH_DOOR", "BIRCH_DOOR_ITEM"},
+			{"BREWING_STAND", "BREWING_STAND_ITEM"},
+			{"CAKE_BLOCK", "CAKE"},
+			{"CAULDRON", "CAULDRON_ITEM"},
+			{"DARK_OAK_DOOR", "DARK_OAK_DOOR_ITEM"},
+			{"FLOWER_POT", "FLOWER_POT_ITEM"},
+			{"IRON_DOOR_BLOCK", "IRON_DOOR"},
+			{"JUNGLE_DOOR", "JUNGLE_DOOR_ITEM"},
+			{"NETHER_WARTS", "NETHER_STALK"},
+			{"SKULL", "SKULL_ITEM"},
+			{"SPRUCE_DOOR", "SPRUCE_DOOR_ITEM"},
+			{"SUGAR_CANE_BLOCK", "SUGAR_CANE"},
+			{"WOODEN_DOOR", "WOOD_DOOR"}
+		};
+		for (String[] legacyBlock : legacyBlocks) {
+			Material block = Material.getMaterial(legacyBlock[0]), item = Material.getMaterial(legacyBlock[1]);
+			if (block != null && item != null)
+				legacyBlockItems.put(block, item);
+		}
+	}
+	
 	/**
 	 * Whether this ItemType represents all types or not.
 	 */
@@ -207,6 +245,7 @@ public class ItemType implements Unit, Iterable<ItemData>, Container<ItemStack>,
 		for (final ItemData d : i) {
 			types.add(d.clone());
 		}
+		materials = null;
 	}
 
 	public ItemType(Block block) {
@@ -218,6 +257,7 @@ public class ItemType implements Unit, Iterable<ItemData>, Container<ItemStack>,
 	 */
 	public void modified() {
 		item = block = null;
+		materials = null;
 	}
 	
 	/**
@@ -268,53 +308,30 @@ public class ItemType implements Unit, Iterable<ItemData>, Container<ItemStack>,
 	public boolean isOfType(@Nullable ItemStack item) {
 		if (item == null)
 			return isOfType(Material.AIR, null);
-		return isOfType(new ItemData(item));
+		return hasMaterial(item.getType()) && isOfType(new ItemData(item));
 	}
 	
 	public boolean isOfType(@Nullable BlockState block) {
 		if (block == null)
 			return isOfType(Material.AIR, null);
 		
-		return isOfType(new ItemData(block));
+		return hasMaterial(ItemUtils.asItem(block.getType())) && isOfType(new ItemData(block));
 	}
 	
 	public boolean isOfType(@Nullable Block block) {
 		if (block == null)
 			return isOfType(Material.AIR, null);
-		switch (block.getType().toString()) {
-			case "ACACIA_DOOR":
-				return this.getRandom().getType() == Material.valueOf("ACACIA_DOOR_ITEM");
-			case "BIRCH_DOOR":
-				return this.getRandom().getType() == Material.valueOf("BIRCH_DOOR_ITEM");
-			case "BREWING_STAND":
-				return this.getRandom().getType() == Material.valueOf("BREWING_STAND_ITEM");
-			case "CAKE_BLOCK":
-				return this.getRandom().getType() == Material.valueOf("CAKE");
-			case "CAULDRON":
-				return this.getRandom().getType() == Material.valueOf("CAULDRON_ITEM");
-			case "DARK_OAK_DOOR":
-				return this.getRandom().getType() == Material.valueOf("DARK_OAK_DOOR_ITEM");
-			case "FLOWER_POT":
-				return this.getRandom().getType() == Material.valueOf("FLOWER_POT_ITEM");
-			case "IRON_DOOR_BLOCK":
-				return this.getRandom().getType() == Material.valueOf("IRON_DOOR");
-			case "JUNGLE_DOOR":
-				return this.getRandom().getType() == Material.valueOf("JUNGLE_DOOR_ITEM");
-			case "NETHER_WARTS":
-				return this.getRandom().getType() == Material.valueOf("NETHER_STALK");
-			case "SKULL":
-				return this.getRandom().getType() == Material.valueOf("SKULL_ITEM");
-			case "SPRUCE_DOOR":
-				return this.getRandom().getType() == Material.valueOf("SPRUCE_DOOR_ITEM");
-			case "SUGAR_CANE_BLOCK":
-				return this.getRandom().getType() == Material.valueOf("SUGAR_CANE");
-			case "WOODEN_DOOR":
-				return this.getRandom().getType() == Material.valueOf("WOOD_DOOR");
-		}
-		return isOfType(block.getState());
+		Material type = block.getType();
+		Material legacyItem = legacyBlockItems.get(type);
+		if (legacyItem != null)
+			return this.getRandom().getType() == legacyItem;
+		// Don't take a snapshot of the block's state unless it might be of this type
+		return hasMaterial(ItemUtils.asItem(type)) && isOfType(block.getState());
 	}
 	
 	public boolean isOfType(ItemData type) {
+		if (!type.isAnything && !hasMaterial(type.getType()))
+			return false; // Items of different materials never match, see ItemData#matchAlias(ItemData)
 		for (final ItemData myType : types) {
 			if (myType.equals(type)) {
 				return true;
@@ -324,12 +341,31 @@ public class ItemType implements Unit, Iterable<ItemData>, Container<ItemStack>,
 	}
 	
 	public boolean isOfType(Material id, @Nullable String tags) {
-		return isOfType(new ItemData(id, tags));
+		return hasMaterial(id) && isOfType(new ItemData(id, tags));
 	}
 	
 	public boolean isOfType(Material id) {
-		// TODO avoid object creation
-		return isOfType(new ItemData(id, null));
+		return hasMaterial(id) && isOfType(new ItemData(id, null));
+	}
+	
+	/**
+	 * @param material A material
+	 * @return Whether any of the types of this item type can match an item of the given material
+	 */
+	private boolean hasMaterial(@Nullable Material material) {
+		Set<Material> materials = this.materials;
+		if (materials == null) {
+			materials = EnumSet.noneOf(Material.class);
+			for (ItemData d : types) {
+				if (d.isAnything || d.type == null) { // Matches any material
+					materials = EnumSet.allOf(Material.class);
+					break;
+				}
+				materials.add(d.type);
+			}
+			this.materials = materials;
+		}
+		return material == null || materials.contains(material);
 	}
 	
 	/**
@@ -1112,6 +1148,7 @@ public class ItemType implements Unit, Iterable<ItemData>, Container<ItemStack>,
 				}
 			}
 		}
+		materials = null;
 	}
 	
 	/**
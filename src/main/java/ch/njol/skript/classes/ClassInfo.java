@@ -55,6 +55,8 @@ public class ClassInfo<T> implements Debuggable {
 	@Nullable
 	private Cloner<T> cloner = null;
 	
+	private boolean immutable = false;
+	
 	@Nullable
 	private Pattern[] userInputPatterns = null;
 	
@@ -135,6 +137,17 @@ public class ClassInfo<T> implements Debuggable {
 		return this;
 	}
 	
+	/**
+	 * Marks values of this class as immutable, which allows Skript to cache their serialised forms. Values must implement {@link Object#equals(Object)} and
+	 * {@link Object#hashCode()}, and equal values must have the same serialised form.
+	 * <p>
+	 * Enums are always considered immutable.
+	 */
+	public ClassInfo<T> immutable() {
+		immutable = true;
+		return this;
+	}
+	
 	/**
 	 * @param userInputPatterns <u>Regex</u> patterns to match this class, e.g. in the expressions loop-[type], random [type] out of ..., or as command arguments. These patterns
 	 *            must be english and match singular and plural.
@@ -319,6 +332,14 @@ public class ClassInfo<T> implements Debuggable {
 		return cloner;
 	}
 	
+	/**
+	 * @return Whether values of this class are immutable
+	 * @see #immutable()
+	 */
+	public boolean isImmutable() {
+		return immutable || c.isEnum();
+	}
+	
 	/**
 	 * Clones the given object using {@link ClassInfo#cloner},
 	 * returning the given object if no {@link Cloner} is registered.
@@ -75,13 +75,14 @@ public class DefaultComparators {
 		Comparators.registerComparator(Number.class, Number.class, new Comparator<Number, Number>() {
 			@Override
 			public Relation compare(Number n1, Number n2) {
-				if (n1 instanceof Long && n2 instanceof Long)
-					return Relation.get(n1.longValue() - n2.longValue());
-				Double d1 = n1.doubleValue(),
+				// integral numbers are compared exactly, without converting them to doubles
+				if (isIntegral(n1) && isIntegral(n2))
+					return Relation.get(Long.compare(n1.longValue(), n2.longValue()));
+				double d1 = n1.doubleValue(),
 					   d2 = n2.doubleValue();
-				if (d1.isNaN() || d2.isNaN()) {
+				if (Double.isNaN(d1) || Double.isNaN(d2)) {
 					return Relation.SMALLER;
-				} else if (d1.isInfinite() || d2.isInfinite()) {
+				} else if (Double.isInfinite(d1) || Double.isInfinite(d2)) {
 					return d1 > d2 ? Relation.GREATER : d1 < d2 ? Relation.SMALLER : Relation.EQUAL;
 				} else {
 					double diff = d1 - d2;
@@ -90,6 +91,10 @@ public class DefaultComparators {
 					return Relation.get(diff);
 				}
 			}
+			
+			private boolean isIntegral(Number n) {
+				return n instanceof Long || n instanceof Integer || n instanceof Short || n instanceof Byte;
+			}
 
 			@Override
 			public boolean supportsOrdering() {
@@ -433,7 +438,7 @@ public class DefaultComparators {
 		Comparators.registerComparator(Timespan.class, Timespan.class, new Comparator<Timespan, Timespan>() {
 			@Override
 			public Relation compare(Timespan t1, Timespan t2) {
-				return Relation.get(t1.getMilliSeconds() - t2.getMilliSeconds());
+				return Relation.get(Long.compare(t1.getMilliSeconds(), t2.getMilliSeconds()));
 			}
 
 			@Override
@@ -560,6 +560,7 @@ public class JavaClasses {
 						"message \"Hello %player%\"",
 						"message \"The id of \"\"%type of tool%\"\" is %id of tool%.\"")
 				.since("1.0")
+				.immutable()
 				.parser(new Parser<String>() {
 					@Override
 					@Nullable
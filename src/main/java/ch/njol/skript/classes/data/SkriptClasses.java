@@ -251,6 +251,7 @@ public class SkriptClasses {
 						"	time is 8 pm",
 						"	broadcast \"It's %time%\"")
 				.since("1.0")
+				.immutable()
 				.defaultExpression(new EventValueExpression<>(Time.class))
 				.parser(new Parser<Time>() {
 					@Override
@@ -301,6 +302,7 @@ public class SkriptClasses {
 						"every 10 mc days and 12 hours:",
 						"	halt for 12.7 irl minutes, 12 hours and 120.5 seconds")
 				.since("1.0, 2.6.1 (weeks, months, years)")
+				.immutable()
 				.parser(new Parser<Timespan>() {
 					@Override
 					@Nullable
@@ -22,6 +22,7 @@ import java.io.File;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -516,6 +517,13 @@ public abstract class Commands {
 		return c != null && c.getName().equals(command);
 	}
 	
+	/**
+	 * @return Whether the given command is registered, i.e. whether it didn't fail to register because of a duplicate name
+	 */
+	public static boolean isRegistered(final ScriptCommand command) {
+		return commands.get(command.getLabel()) == command;
+	}
+	
 	public static void registerCommand(final ScriptCommand command) {
 		// Validate that there are no duplicates
 		final ScriptCommand existingCommand = commands.get(command.getLabel());
@@ -537,11 +545,20 @@ public abstract class Commands {
 	}
 	
 	public static int unregisterCommands(final File script) {
+		return unregisterCommands(script, Collections.emptySet());
+	}
+	
+	/**
+	 * Unregisters the commands of the given script, except for the given ones.
+	 * 
+	 * @return The number of unregistered commands
+	 */
+	public static int unregisterCommands(final File script, final Set<ScriptCommand> keep) {
 		int numCommands = 0;
 		final Iterator<ScriptCommand> commandsIter = commands.values().iterator();
 		while (commandsIter.hasNext()) {
 			final ScriptCommand c = commandsIter.next();
-			if (script.equals(c.getScript())) {
+			if (script.equals(c.getScript()) && !keep.contains(c)) {
 				numCommands++;
 				c.unregisterHelp();
 				if (commandMap != null) {
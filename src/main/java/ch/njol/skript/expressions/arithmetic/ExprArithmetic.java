@@ -34,6 +34,7 @@ import ch.njol.skript.lang.Expression;
 import ch.njol.skript.lang.ExpressionType;
 import ch.njol.skript.lang.Literal;
 import ch.njol.skript.lang.SkriptParser.ParseResult;
+import ch.njol.skript.lang.util.ConstantFolding;
 import ch.njol.skript.lang.util.SimpleExpression;
 import ch.njol.skript.lang.util.SimpleLiteral;
 import ch.njol.skript.util.Patterns;
@@ -115,6 +116,10 @@ public class ExprArithmetic extends SimpleExpression<Number> {
 	// A parsed chain, like a tree
 	private ArithmeticGettable arithmeticGettable;
 	
+	// The value of this expression if all operands are constant, calculated once when parsed
+	@Nullable
+	private Number constant;
+	
 	@SuppressWarnings({"unchecked", "null"})
 	@Override
 	public boolean init(final Expression<?>[] exprs, final int matchedPattern, final Kleenean isDelayed, final ParseResult parseResult) {
@@ -155,6 +160,11 @@ public class ExprArithmetic extends SimpleExpression<Number> {
 		
 		arithmeticGettable = ArithmeticChain.parse(chain);
 		
+		if (isConstant(first) && isConstant(second)) {
+			constant = arithmeticGettable.get(null, returnType == Long.class);
+			ConstantFolding.folded();
+		}
+		
 		return true;
 	}
 	
@@ -163,11 +173,16 @@ public class ExprArithmetic extends SimpleExpression<Number> {
 	protected Number[] get(final Event e) {
 		Number[] one = (Number[]) Array.newInstance(returnType, 1);
 		
-		one[0] = arithmeticGettable.get(e, returnType == Long.class);
+		final Number constant = this.constant;
+		one[0] = constant != null ? constant : arithmeticGettable.get(e, returnType == Long.class);
 		
 		return one;
 	}
 	
+	private static boolean isConstant(final Expression<?> expr) {
+		return expr instanceof Literal && ConstantFolding.isConstant((Literal<?>) expr) || expr instanceof ExprArithmetic && ((ExprArithmetic) expr).constant != null;
+	}
+	
 	@Override
 	public Class<? extends Number> getReturnType() {
 		return returnType;
@@ -186,7 +201,7 @@ public class ExprArithmetic extends SimpleExpression<Number> {
 	@SuppressWarnings("null")
 	@Override
 	public Expression<? extends Number> simplify() {
-		if (first instanceof Literal && second instanceof Literal)
+		if (constant != null)
 			return new SimpleLiteral<>(getArray(null), Number.class, false);
 		return this;
 	}
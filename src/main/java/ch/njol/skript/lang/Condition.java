@@ -18,8 +18,6 @@
  */
 package ch.njol.skript.lang;
 
-import java.util.Iterator;
-
 import org.bukkit.event.Event;
 import org.eclipse.jdt.annotation.Nullable;
 
@@ -74,7 +72,7 @@ public abstract class Condition extends Statement {
 		s = s.trim();
 		while (s.startsWith("(") && SkriptParser.next(s, 0, ParseContext.DEFAULT) == s.length())
 			s = s.substring(1, s.length() - 1);
-		return (Condition) SkriptParser.parse(s, (Iterator) Skript.getConditions().iterator(), defaultError);
+		return (Condition) SkriptParser.parse(s, (SyntaxElementIndex) Skript.getConditionIndex(), null, defaultError);
 	}
 	
 }
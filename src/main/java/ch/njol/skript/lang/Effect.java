@@ -18,8 +18,6 @@
  */
 package ch.njol.skript.lang;
 
-import java.util.Iterator;
-
 import org.bukkit.event.Event;
 import org.eclipse.jdt.annotation.Nullable;
 
@@ -73,7 +71,7 @@ public abstract class Effect extends Statement {
 			}
 			log.clear();
 
-			Effect effect = (Effect) SkriptParser.parse(s, (Iterator) Skript.getEffects().iterator(), defaultError);
+			Effect effect = (Effect) SkriptParser.parse(s, (SyntaxElementIndex) Skript.getEffectIndex(), null, defaultError);
 			if (effect != null) {
 				log.printLog();
 				return effect;
@@ -31,6 +31,7 @@ import ch.njol.skript.expressions.ExprParse;
 import ch.njol.skript.lang.function.ExprFunctionCall;
 import ch.njol.skript.lang.function.FunctionReference;
 import ch.njol.skript.lang.function.Functions;
+import ch.njol.skript.lang.parser.ParseProfiler;
 import ch.njol.skript.lang.parser.ParserInstance;
 import ch.njol.skript.lang.util.SimpleLiteral;
 import ch.njol.skript.localization.Language;
@@ -46,10 +47,12 @@ import ch.njol.skript.patterns.SkriptPattern;
 import ch.njol.skript.registrations.Classes;
 import ch.njol.skript.util.ScriptOptions;
 import ch.njol.skript.util.Utils;
+import ch.njol.util.Checker;
 import ch.njol.util.Kleenean;
 import ch.njol.util.NonNullPair;
 import ch.njol.util.StringUtils;
 import ch.njol.util.coll.CollectionUtils;
+import ch.njol.util.coll.iterator.CheckedIterator;
 import com.google.common.primitives.Booleans;
 import org.bukkit.event.EventPriority;
 import org.bukkit.inventory.ItemStack;
@@ -57,13 +60,14 @@ import org.eclipse.jdt.annotation.Nullable;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Deque;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.MatchResult;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -186,6 +190,34 @@ public class SkriptParser {
 		}
 	}
 	
+	/**
+	 * Parses a string as one of the syntax elements of the given index, only trying the patterns which can match the string.
+	 * <p>
+	 * Can print an error.
+	 * 
+	 * @param filter Only elements accepted by this checker are tried
+	 */
+	@Nullable
+	public static <T extends SyntaxElement, I extends SyntaxElementInfo<? extends T>> T parse(String expr, final SyntaxElementIndex<I> index, final @Nullable Checker<? super I> filter, final @Nullable String defaultError) {
+		expr = "" + expr.trim();
+		if (expr.isEmpty()) {
+			Skript.error(defaultError);
+			return null;
+		}
+		final ParseLogHandler log = SkriptLogger.startParseLogHandler();
+		try {
+			final T e = new SkriptParser(expr).parse(index, filter);
+			if (e != null) {
+				log.printLog();
+				return e;
+			}
+			log.printError(defaultError);
+			return null;
+		} finally {
+			log.stop();
+		}
+	}
+	
 	@Nullable
 	public static <T extends SyntaxElement> T parseStatic(String expr, final Iterator<? extends SyntaxElementInfo<? extends T>> source, final @Nullable String defaultError) {
 		expr = "" + expr.trim();
@@ -214,53 +246,12 @@ public class SkriptParser {
 		try {
 			while (source.hasNext()) {
 				final SyntaxElementInfo<? extends T> info = source.next();
-				patternsLoop: for (int i = 0; i < info.patterns.length; i++) {
+				for (int i = 0; i < info.patterns.length; i++) {
 					log.clear();
-					try {
-						final String pattern = info.patterns[i];
-						assert pattern != null;
-						ParseResult res;
-						try {
-							res = parse_i(pattern, 0, 0);
-						} catch (MalformedPatternException e) {
-							throw new RuntimeException("pattern compiling exception, element class: " + info.c.getName(), e);
-						}
-						if (res != null) {
-							int x = -1;
-							for (int j = 0; (x = nextUnescaped(pattern, '%', x + 1)) != -1; j++) {
-								final int x2 = nextUnescaped(pattern, '%', x + 1);
-								if (res.exprs[j] == null) {
-									final String name = pattern.substring(x + 1, x2);
-									if (!name.startsWith("-")) {
-										final ExprInfo vi = getExprInfo(name);
-										final DefaultExpression<?> expr = vi.classes[0].getDefaultExpression();
-										if (expr == null)
-											throw new SkriptAPIException("The class '" + vi.classes[0].getCodeName() + "' does not provide a default expression. Either allow null (with %-" + vi.classes[0].getCodeName() + "%) or make it mandatory [pattern: " + info.patterns[i] + "]");
-										if (!(expr instanceof Literal) && (vi.flagMask & PARSE_EXPRESSIONS) == 0)
-											throw new SkriptAPIException("The default expression of '" + vi.classes[0].getCodeName() + "' is not a literal. Either allow null (with %-*" + vi.classes[0].getCodeName() + "%) or make it mandatory [pattern: " + info.patterns[i] + "]");
-										if (expr instanceof Literal && (vi.flagMask & PARSE_LITERALS) == 0)
-											throw new SkriptAPIException("The default expression of '" + vi.classes[0].getCodeName() + "' is a literal. Either allow null (with %-~" + vi.classes[0].getCodeName() + "%) or make it mandatory [pattern: " + info.patterns[i] + "]");
-										if (!vi.isPlural[0] && !expr.isSingle())
-											throw new SkriptAPIException("The default expression of '" + vi.classes[0].getCodeName() + "' is not a single-element expression. Change your pattern to allow multiple elements or make the expression mandatory [pattern: " + info.patterns[i] + "]");
-										if (vi.time != 0 && !expr.setTime(vi.time))
-											throw new SkriptAPIException("The default expression of '" + vi.classes[0].getCodeName() + "' does not have distinct time states. [pattern: " + info.patterns[i] + "]");
-										if (!expr.init())
-											continue patternsLoop;
-										res.exprs[j] = expr;
-									}
-								}
-								x = x2;
-							}
-							final T t = info.c.newInstance();
-							if (t.init(res.exprs, i, getParser().getHasDelayBefore(), res)) {
-								log.printLog();
-								return t;
-							}
-						}
-					} catch (final InstantiationException e) {
-						assert false;
-					} catch (final IllegalAccessException e) {
-						assert false;
+					final T t = parseElement(info, i);
+					if (t != null) {
+						log.printLog();
+						return t;
 					}
 				}
 			}
@@ -271,6 +262,130 @@ public class SkriptParser {
 		}
 	}
 	
+	/**
+	 * Like {@link #parse(Iterator)}, but only tries the patterns which can match the expression according to the given index,
+	 * i.e. those which can start with the expression's first character and whose keywords the expression contains.
+	 * 
+	 * @param filter Only elements accepted by this checker are tried
+	 */
+	@Nullable
+	private final <T extends SyntaxElement, I extends SyntaxElementInfo<? extends T>> T parse(final SyntaxElementIndex<I> index, final @Nullable Checker<? super I> filter) {
+		final SyntaxElementIndex.Candidates<I> candidates = index.getCandidates(expr);
+		if (candidates == null) { // registrations have not stopped yet
+			Iterator<I> source = index.getElements().iterator();
+			if (filter != null)
+				source = new CheckedIterator<>(source, filter::check);
+			return parse(source);
+		}
+		
+		// Decisions are only remembered without a filter, as the filter may skip the remembered candidate
+		final int decision = filter == null ? index.getDecision(expr) : -1;
+		// Only computed if needed, as the candidates before a remembered one are known to fail the keyword check
+		@Nullable BitSet keywords = null;
+		boolean firstWithKeywords = true;
+		int skippedByFilter = 0, skippedByKeywords = 0, parsed = 0;
+		final ParseLogHandler log = SkriptLogger.startParseLogHandler();
+		try {
+			@Nullable I lastInfo = null;
+			boolean lastAccepted = false;
+			for (int n = decision == -1 ? 0 : decision; n < candidates.size(); n++) {
+				final I info = candidates.infos.get(n);
+				if (filter != null) {
+					// the patterns of an element are consecutive
+					if (info != lastInfo) {
+						lastInfo = info;
+						lastAccepted = filter.check(info);
+					}
+					if (!lastAccepted) {
+						skippedByFilter++;
+						continue;
+					}
+				}
+				if (n != decision) {
+					if (keywords == null)
+						keywords = index.findKeywords(expr);
+					if (!SyntaxElementIndex.hasKeywords(keywords, candidates, n)) {
+						skippedByKeywords++;
+						continue;
+					}
+				}
+				parsed++;
+				log.clear();
+				final T t = parseElement(info, candidates.patterns[n]);
+				if (t != null) {
+					if (filter == null && decision == -1 && firstWithKeywords)
+						index.putDecision(expr, n);
+					log.printLog();
+					return t;
+				}
+				firstWithKeywords = false;
+			}
+			log.printError();
+			return null;
+		} finally {
+			log.stop();
+			index.recordParse(candidates, skippedByFilter, skippedByKeywords, parsed);
+		}
+	}
+	
+	/**
+	 * Tries to parse the expression with the given pattern of the given element. Errors are logged to the current log handler.
+	 */
+	@Nullable
+	private <T extends SyntaxElement> T parseElement(final SyntaxElementInfo<? extends T> info, final int i) {
+		try {
+			final String pattern = info.patterns[i];
+			assert pattern != null;
+			ParseResult res;
+			try {
+				if (ParseProfiler.isEnabled()) {
+					long start = System.nanoTime();
+					res = parse_i(info.getCompiledPattern(i));
+					ParseProfiler.recordMatch(info, i, res != null, System.nanoTime() - start);
+				} else {
+					res = parse_i(info.getCompiledPattern(i));
+				}
+			} catch (MalformedPatternException e) {
+				throw new RuntimeException("pattern compiling exception, element class: " + info.c.getName(), e);
+			}
+			if (res != null) {
+				int x = -1;
+				for (int j = 0; (x = nextUnescaped(pattern, '%', x + 1)) != -1; j++) {
+					final int x2 = nextUnescaped(pattern, '%', x + 1);
+					if (res.exprs[j] == null) {
+						final String name = pattern.substring(x + 1, x2);
+						if (!name.startsWith("-")) {
+							final ExprInfo vi = getExprInfo(name);
+							final DefaultExpression<?> expr = vi.classes[0].getDefaultExpression();
+							if (expr == null)
+								throw new SkriptAPIException("The class '" + vi.classes[0].getCodeName() + "' does not provide a default expression. Either allow null (with %-" + vi.classes[0].getCodeName() + "%) or make it mandatory [pattern: " + info.patterns[i] + "]");
+							if (!(expr instanceof Literal) && (vi.flagMask & PARSE_EXPRESSIONS) == 0)
+								throw new SkriptAPIException("The default expression of '" + vi.classes[0].getCodeName() + "' is not a literal. Either allow null (with %-*" + vi.classes[0].getCodeName() + "%) or make it mandatory [pattern: " + info.patterns[i] + "]");
+							if (expr instanceof Literal && (vi.flagMask & PARSE_LITERALS) == 0)
+								throw new SkriptAPIException("The default expression of '" + vi.classes[0].getCodeName() + "' is a literal. Either allow null (with %-~" + vi.classes[0].getCodeName() + "%) or make it mandatory [pattern: " + info.patterns[i] + "]");
+							if (!vi.isPlural[0] && !expr.isSingle())
+								throw new SkriptAPIException("The default expression of '" + vi.classes[0].getCodeName() + "' is not a single-element expression. Change your pattern to allow multiple elements or make the expression mandatory [pattern: " + info.patterns[i] + "]");
+							if (vi.time != 0 && !expr.setTime(vi.time))
+								throw new SkriptAPIException("The default expression of '" + vi.classes[0].getCodeName() + "' does not have distinct time states. [pattern: " + info.patterns[i] + "]");
+							if (!expr.init())
+								return null;
+							res.exprs[j] = expr;
+						}
+					}
+					x = x2;
+				}
+				final T t = info.c.newInstance();
+				if (t.init(res.exprs, i, getParser().getHasDelayBefore(), res))
+					return t;
+			}
+		} catch (final InstantiationException e) {
+			assert false;
+		} catch (final IllegalAccessException e) {
+			assert false;
+		}
+		return null;
+	}
+	
 	@SuppressWarnings("null")
 	private final static Pattern varPattern = Pattern.compile("((the )?var(iable)? )?\\{.+\\}", Pattern.CASE_INSENSITIVE);
 	
@@ -341,7 +456,7 @@ public class SkriptParser {
 				if (expr.startsWith("\"") && expr.length() != 1 && nextQuote(expr, 1) == expr.length() - 1) {
 					e = VariableString.newInstance("" + expr.substring(1, expr.length() - 1));
 				} else {
-					e = (Expression<?>) parse(expr, (Iterator) Skript.getExpressions(types), null);
+					e = (Expression<?>) parse(expr, (SyntaxElementIndex) Skript.getExpressionIndex(), Skript.getReturnTypeChecker(types), null);
 				}
 				if (e != null) { // Expression/VariableString parsing success
 					for (final Class<? extends T> t : types) {
@@ -519,7 +634,7 @@ public class SkriptParser {
 				if (expr.startsWith("\"") && expr.length() != 1 && nextQuote(expr, 1) == expr.length() - 1) {
 					e = VariableString.newInstance("" + expr.substring(1, expr.length() - 1));
 				} else {
-					e = (Expression<?>) parse(expr, (Iterator) Skript.getExpressions(types), null);
+					e = (Expression<?>) parse(expr, (SyntaxElementIndex) Skript.getExpressionIndex(), Skript.getReturnTypeChecker(types), null);
 				}
 				if (e != null) { // Expression/VariableString parsing success
 					Class<?> returnType = e.getReturnType(); // Sometimes getReturnType does non-trivial costly operations
@@ -1044,9 +1159,14 @@ public class SkriptParser {
 				for (int i = 0; i < info.patterns.length; i++) {
 					log.clear();
 					try {
-						String pattern = info.patterns[i];
-						assert pattern != null;
-						ParseResult res = parse_i(pattern, 0, 0);
+						ParseResult res;
+						if (ParseProfiler.isEnabled()) {
+							long start = System.nanoTime();
+							res = parse_i(info.getCompiledPattern(i));
+							ParseProfiler.recordMatch(info, i, res != null, System.nanoTime() - start);
+						} else {
+							res = parse_i(info.getCompiledPattern(i));
+						}
 						if (res != null) {
 							SkriptEvent e = info.c.newInstance();
 							e.eventPriority = eventPriority;
@@ -1245,13 +1365,28 @@ public class SkriptParser {
 		return i + 1;
 	}
 
-	private static final Map<String, SkriptPattern> patterns = new HashMap<>();
+	/**
+	 * Concurrent, as scripts may be loaded by several threads.
+	 */
+	private static final Map<String, SkriptPattern> patterns = new ConcurrentHashMap<>();
+
+	/**
+	 * @return The compiled form of the given pattern, compiled only once per pattern
+	 * @throws MalformedPatternException If the pattern is invalid
+	 */
+	static SkriptPattern compilePattern(String pattern) {
+		return patterns.computeIfAbsent(pattern, PatternCompiler::compile);
+	}
 
 	@Nullable
 	private ParseResult parse_i(String pattern, int i, int j) {
 		if (i != 0 || j != 0)
 			throw new IllegalArgumentException();
-		SkriptPattern skriptPattern = patterns.computeIfAbsent(pattern, PatternCompiler::compile);
+		return parse_i(compilePattern(pattern));
+	}
+
+	@Nullable
+	private ParseResult parse_i(SkriptPattern skriptPattern) {
 		ch.njol.skript.patterns.MatchResult matchResult = skriptPattern.match(expr, flags, context);
 		if (matchResult == null)
 			return null;
@@ -1370,16 +1505,10 @@ public class SkriptParser {
 		public int time = 0;
 	}
 	
-	private static final Map<String,ExprInfo> exprInfoCache = new HashMap<>();
+	private static final Map<String,ExprInfo> exprInfoCache = new ConcurrentHashMap<>();
 	
 	private static ExprInfo getExprInfo(String s) throws IllegalArgumentException, SkriptAPIException {
-		ExprInfo r = exprInfoCache.get(s);
-		if (r == null) {
-			r = createExprInfo(s);
-			exprInfoCache.put(s, r);
-		}
-		
-		return r;
+		return exprInfoCache.computeIfAbsent(s, SkriptParser::createExprInfo);
 	}
 	
 	private static ExprInfo createExprInfo(String s) throws IllegalArgumentException, SkriptAPIException {
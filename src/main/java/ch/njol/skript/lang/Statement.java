@@ -18,8 +18,6 @@
  */
 package ch.njol.skript.lang;
 
-import java.util.Iterator;
-
 import org.eclipse.jdt.annotation.Nullable;
 
 import ch.njol.skript.Skript;
@@ -57,7 +55,7 @@ public abstract class Statement extends TriggerItem implements SyntaxElement {
 			}
 			log.clear();
 
-			Statement statement = (Statement) SkriptParser.parse(s, (Iterator) Skript.getStatements().iterator(), defaultError);
+			Statement statement = (Statement) SkriptParser.parse(s, (SyntaxElementIndex) Skript.getStatementIndex(), null, defaultError);
 			if (statement != null) {
 				log.printLog();
 				return statement;
@@ -0,0 +1,304 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.lang;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.jdt.annotation.Nullable;
+
+import ch.njol.skript.patterns.KeywordMatcher;
+import ch.njol.skript.patterns.MalformedPatternException;
+import ch.njol.skript.patterns.SkriptPattern;
+
+/**
+ * An index of the patterns of some syntax elements by the first character of the expressions they can match,
+ * used by {@link SkriptParser} to only try the patterns that can possibly match a given expression.
+ * The {@link SkriptPattern#getKeywords() keywords} of the remaining patterns are then checked all at once with a {@link KeywordMatcher}.
+ * <p>
+ * The index is built once all syntax elements are registered (see {@link #build()}). Until then, all patterns are tried.
+ * The candidates for every character keep the order of the elements and of their patterns, so parsing with the index
+ * gives the same result as trying every pattern in order.
+ * <p>
+ * Additionally, if an expression was parsed with the first candidate whose keywords it contains, that candidate is remembered,
+ * so that the same line in another trigger or script is tried with it right away without checking the keywords of all candidates again.
+ * As the candidates and keywords only depend on the expression, this is the candidate the full search would try first anyway.
+ *
+ * @param <I> the type of the syntax element infos
+ */
+public final class SyntaxElementIndex<I extends SyntaxElementInfo<?>> {
+
+	/**
+	 * Patterns to try, in order: the pattern {@code patterns[n]} of the element {@code infos[n]}.
+	 */
+	static final class Candidates<I> {
+
+		final List<I> infos;
+		final int[] patterns;
+		/**
+		 * The {@link KeywordMatcher} IDs of the keywords of each pattern
+		 */
+		final int[][] keywords;
+
+		Candidates(List<I> infos, int[] patterns, int[][] keywords) {
+			this.infos = infos;
+			this.patterns = patterns;
+			this.keywords = keywords;
+		}
+
+		int size() {
+			return patterns.length;
+		}
+
+	}
+
+	/**
+	 * Maximum number of remembered decisions per index. The cache is cleared when it is full.
+	 */
+	private final static int MAX_DECISIONS = 1 << 15;
+
+	private static volatile boolean decisionCacheEnabled = false;
+
+	private final Collection<I> elements;
+
+	/**
+	 * The position of the remembered candidate of each expression in its {@link Candidates}
+	 */
+	private final Map<String, Integer> decisions = new ConcurrentHashMap<>();
+
+	@Nullable
+	private volatile Map<Character, Candidates<I>> candidates = null;
+	/**
+	 * Candidates for expressions starting with a character no pattern starts with, i.e. the patterns which can start with any character
+	 */
+	@Nullable
+	private volatile Candidates<I> anyStart = null;
+	@Nullable
+	private volatile KeywordMatcher keywordMatcher = null;
+	private int patternCount;
+
+	private final static LongAdder parsedPatterns = new LongAdder(), skippedByFirstCharacter = new LongAdder(), skippedByFilter = new LongAdder(), skippedByKeywords = new LongAdder();
+	private final static LongAdder decisionHits = new LongAdder(), decisionMisses = new LongAdder();
+
+	public SyntaxElementIndex(Collection<I> elements) {
+		this.elements = elements;
+	}
+
+	public Collection<I> getElements() {
+		return elements;
+	}
+
+	public boolean isBuilt() {
+		return candidates != null;
+	}
+
+	/**
+	 * Sets whether decisions are remembered, see {@link SyntaxElementIndex}
+	 */
+	public static void setDecisionCacheEnabled(boolean enabled) {
+		decisionCacheEnabled = enabled;
+	}
+
+	/**
+	 * (Re)builds this index from the current syntax elements.
+	 */
+	public void build() {
+		decisions.clear();
+		List<I> infos = new ArrayList<>();
+		List<Integer> patterns = new ArrayList<>();
+		List<char[]> firstCharacters = new ArrayList<>(); // null for patterns which can start with anything
+		List<String[]> keywords = new ArrayList<>();
+		TreeSet<Character> allCharacters = new TreeSet<>();
+		Set<String> allKeywords = new LinkedHashSet<>();
+		for (I info : elements) {
+			for (int i = 0; i < info.patterns.length; i++) {
+				char[] chars;
+				String[] patternKeywords;
+				try {
+					SkriptPattern pattern = info.getCompiledPattern(i);
+					chars = pattern.getFirstCharacters();
+					patternKeywords = pattern.getKeywords();
+				} catch (MalformedPatternException e) {
+					// reported when the pattern is tried
+					chars = null;
+					patternKeywords = new String[0];
+				}
+				for (String keyword : patternKeywords)
+					allKeywords.add(keyword);
+				if (chars != null) {
+					for (char c : chars)
+						allCharacters.add(c);
+				}
+				infos.add(info);
+				patterns.add(i);
+				firstCharacters.add(chars);
+				keywords.add(patternKeywords);
+			}
+		}
+
+		KeywordMatcher keywordMatcher = new KeywordMatcher(allKeywords);
+		List<int[]> keywordIds = new ArrayList<>();
+		for (String[] patternKeywords : keywords) {
+			int[] ids = new int[patternKeywords.length];
+			int n = 0;
+			for (String keyword : patternKeywords) {
+				int id = keywordMatcher.getId(keyword);
+				if (id != -1)
+					ids[n++] = id;
+			}
+			keywordIds.add(ids.length == n ? ids : Arrays.copyOf(ids, n));
+		}
+
+		Map<Character, Candidates<I>> candidates = new HashMap<>();
+		for (char c : allCharacters)
+			candidates.put(c, collect(infos, patterns, keywordIds, firstCharacters, c));
+		this.anyStart = collect(infos, patterns, keywordIds, firstCharacters, null);
+		this.keywordMatcher = keywordMatcher;
+		this.patternCount = infos.size();
+		this.candidates = candidates;
+	}
+
+	/**
+	 * @param c The first character, or null to only collect the patterns which can start with anything
+	 */
+	private static <I extends SyntaxElementInfo<?>> Candidates<I> collect(List<I> infos, List<Integer> patterns, List<int[]> keywordIds, List<char[]> firstCharacters, @Nullable Character c) {
+		List<I> candidateInfos = new ArrayList<>();
+		List<Integer> candidatePatterns = new ArrayList<>();
+		List<int[]> candidateKeywords = new ArrayList<>();
+		for (int i = 0; i < infos.size(); i++) {
+			char[] chars = firstCharacters.get(i);
+			if (chars == null || c != null && contains(chars, c)) {
+				candidateInfos.add(infos.get(i));
+				candidatePatterns.add(patterns.get(i));
+				candidateKeywords.add(keywordIds.get(i));
+			}
+		}
+		int[] candidatePatternArray = new int[candidatePatterns.size()];
+		for (int i = 0; i < candidatePatternArray.length; i++)
+			candidatePatternArray[i] = candidatePatterns.get(i);
+		return new Candidates<>(candidateInfos, candidatePatternArray, candidateKeywords.toArray(new int[0][]));
+	}
+
+	private static boolean contains(char[] chars, char c) {
+		for (char d : chars) {
+			if (d == c)
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * @param expr A trimmed, non-empty expression
+	 * @return The patterns which can match the given expression, or null if this index is not built yet
+	 */
+	@Nullable
+	Candidates<I> getCandidates(String expr) {
+		Map<Character, Candidates<I>> candidates = this.candidates;
+		if (candidates == null)
+			return null;
+		Candidates<I> c = candidates.get(Character.toLowerCase(expr.charAt(0)));
+		return c != null ? c : anyStart;
+	}
+
+	/**
+	 * @return The position of the remembered candidate of the given expression in its {@link #getCandidates(String) candidates},
+	 *         or -1 if unknown or if decisions are not remembered
+	 */
+	int getDecision(String expr) {
+		if (!decisionCacheEnabled)
+			return -1;
+		Integer decision = decisions.get(expr);
+		if (decision == null) {
+			decisionMisses.increment();
+			return -1;
+		}
+		decisionHits.increment();
+		return decision;
+	}
+
+	/**
+	 * Remembers the candidate the given expression was parsed with. Must only be called if it is the first candidate whose keywords the expression contains.
+	 */
+	void putDecision(String expr, int candidate) {
+		if (!decisionCacheEnabled)
+			return;
+		if (decisions.size() >= MAX_DECISIONS)
+			decisions.clear();
+		decisions.put(expr, candidate);
+	}
+
+	/**
+	 * Must only be called once this index is built.
+	 * 
+	 * @return The keywords contained in the given expression, to be passed to {@link #hasKeywords(BitSet, Candidates, int)}
+	 */
+	BitSet findKeywords(String expr) {
+		KeywordMatcher keywordMatcher = this.keywordMatcher;
+		assert keywordMatcher != null;
+		return keywordMatcher.find(expr.toLowerCase(Locale.ENGLISH));
+	}
+
+	/**
+	 * @return Whether the expression contains all keywords of the given candidate pattern, which is necessary for the pattern to match it
+	 */
+	static boolean hasKeywords(BitSet found, Candidates<?> candidates, int n) {
+		for (int id : candidates.keywords[n]) {
+			if (!found.get(id))
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Records how many patterns were skipped by a single parse attempt with this index
+	 */
+	void recordParse(Candidates<?> candidates, int skippedByFilter, int skippedByKeywords, int parsedPatterns) {
+		SyntaxElementIndex.skippedByFirstCharacter.add(patternCount - candidates.size());
+		SyntaxElementIndex.skippedByFilter.add(skippedByFilter);
+		SyntaxElementIndex.skippedByKeywords.add(skippedByKeywords);
+		SyntaxElementIndex.parsedPatterns.add(parsedPatterns);
+	}
+
+	/**
+	 * @return How many patterns were skipped by the first character and keyword checks and how many were tried by parsers using an index, e.g. for debugging
+	 */
+	public static String getStatistics() {
+		long skippedByFirstCharacter = SyntaxElementIndex.skippedByFirstCharacter.sum(), skippedByFilter = SyntaxElementIndex.skippedByFilter.sum(),
+			skippedByKeywords = SyntaxElementIndex.skippedByKeywords.sum(), parsedPatterns = SyntaxElementIndex.parsedPatterns.sum();
+		long total = skippedByFirstCharacter + skippedByFilter + skippedByKeywords + parsedPatterns;
+		long decisionHits = SyntaxElementIndex.decisionHits.sum(), decisionLookups = decisionHits + decisionMisses.sum();
+		String decisions = decisionLookups == 0 ? "" : "; " + decisionHits + " of " + decisionLookups + " lines were tried with a remembered pattern without checking keywords";
+		if (total == 0)
+			return "no patterns tried" + decisions;
+		return "out of " + total + " patterns, " + skippedByFirstCharacter + " were skipped by their first character, " + skippedByFilter + " by their return type, "
+			+ skippedByKeywords + " by their keywords, and " + parsedPatterns + " (" + (100 * parsedPatterns / total) + "%) were tried" + decisions;
+	}
+
+}
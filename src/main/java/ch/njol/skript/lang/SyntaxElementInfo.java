@@ -20,6 +20,11 @@ package ch.njol.skript.lang;
 
 import java.util.Arrays;
 
+import org.eclipse.jdt.annotation.Nullable;
+
+import ch.njol.skript.patterns.MalformedPatternException;
+import ch.njol.skript.patterns.SkriptPattern;
+
 /**
  * @author Peter Güttinger
  * @param <E> the syntax element this info is for
@@ -30,6 +35,12 @@ public class SyntaxElementInfo<E extends SyntaxElement> {
 	public final String[] patterns;
 	public final String originClassPath;
 	
+	/**
+	 * The compiled {@link #patterns}, set by {@link #compilePatterns()}. Malformed patterns are left null.
+	 */
+	@Nullable
+	private volatile SkriptPattern[] compiledPatterns;
+	
 	public SyntaxElementInfo(final String[] patterns, final Class<E> c, final String originClassPath) throws IllegalArgumentException {
 		this.patterns = patterns;
 		this.c = c;
@@ -69,4 +80,38 @@ public class SyntaxElementInfo<E extends SyntaxElement> {
 	public String getOriginClassPath() {
 		return originClassPath;
 	}
+	
+	/**
+	 * Compiles all patterns of this element, which is done once all syntax elements are registered.
+	 * Malformed patterns are skipped, they cause an exception when they are used.
+	 */
+	public void compilePatterns() {
+		final SkriptPattern[] compiledPatterns = new SkriptPattern[patterns.length];
+		for (int i = 0; i < patterns.length; i++) {
+			try {
+				compiledPatterns[i] = SkriptParser.compilePattern(patterns[i]);
+			} catch (final MalformedPatternException e) {
+				// thrown again when the pattern is used
+			}
+		}
+		this.compiledPatterns = compiledPatterns;
+	}
+	
+	/**
+	 * Compiled patterns are immutable and can thus be used by multiple threads.
+	 * 
+	 * @param i The index of the pattern
+	 * @return The compiled form of the given pattern of this element
+	 * @throws MalformedPatternException If the pattern is invalid
+	 */
+	public SkriptPattern getCompiledPattern(final int i) {
+		final SkriptPattern[] compiledPatterns = this.compiledPatterns;
+		if (compiledPatterns != null) {
+			final SkriptPattern pattern = compiledPatterns[i];
+			if (pattern != null)
+				return pattern;
+		}
+		return SkriptParser.compilePattern(patterns[i]);
+	}
+	
 }
@@ -22,6 +22,7 @@ import ch.njol.skript.Skript;
 import ch.njol.skript.classes.Changer.ChangeMode;
 import ch.njol.skript.expressions.ExprColoured;
 import ch.njol.skript.lang.SkriptParser.ParseResult;
+import ch.njol.skript.lang.util.ConstantFolding;
 import ch.njol.skript.lang.util.ConvertedExpression;
 import ch.njol.skript.lang.util.SimpleExpression;
 import ch.njol.skript.log.BlockingLogHandler;
@@ -66,6 +67,13 @@ public class VariableString implements Expression<String> {
 	private final String simpleUnformatted;
 	private final StringMode mode;
 	
+	/**
+	 * The texts of the {@link Literal} parts of this string, by index in {@link #string}, which are formatted once when the string is parsed.
+	 * Null for parts which must be evaluated every time.
+	 */
+	@Nullable
+	private final String[] constantParts;
+	
 	/**
 	 * Message components that this string consists of. Only simple parts have
 	 * been evaluated here.
@@ -83,6 +91,7 @@ public class VariableString implements Expression<String> {
 				
 		orig = simple;
 		string = null;
+		constantParts = null;
 		mode = StringMode.MESSAGE;
 		
 		components = new MessageComponent[] {ChatMessages.plainText(simpleUnformatted)};
@@ -98,6 +107,7 @@ public class VariableString implements Expression<String> {
 		this.orig = orig;
 		this.string = new Object[string.length];
 		this.stringUnformatted = new Object[string.length];
+		this.constantParts = new String[string.length];
 		
 		// Construct unformatted string and components
 		List<MessageComponent> components = new ArrayList<>(string.length);
@@ -109,6 +119,11 @@ public class VariableString implements Expression<String> {
 			} else {
 				this.string[i] = o;
 				components.add(null); // Not known parse-time
+				// Literals are still formatted like expressions, i.e. without parsing their formatting, but only once
+				if (o instanceof Literal && isFormattedInAdvance((Literal<?>) o)) {
+					constantParts[i] = Classes.toString(((Literal<?>) o).getArray(), true, mode);
+					ConstantFolding.folded();
+				}
 			}
 			
 			// For unformatted string, don't format stuff
@@ -123,6 +138,17 @@ public class VariableString implements Expression<String> {
 		simpleUnformatted = null;
 	}
 	
+	/**
+	 * Most types are formatted depending on the language or the script's aliases, and lists are joined with the language's 'and',
+	 * thus only single numbers and texts are formatted when they are parsed.
+	 */
+	private static boolean isFormattedInAdvance(Literal<?> l) {
+		if (l instanceof UnparsedLiteral || l.getAll().length != 1)
+			return false;
+		Class<?> c = l.getReturnType();
+		return Number.class.isAssignableFrom(c) || c == String.class;
+	}
+	
 	/**
 	 * Prints errors
 	 */
@@ -367,9 +393,18 @@ public class VariableString implements Expression<String> {
 
 		Object[] string = this.string;
 		assert string != null;
+		return toString(string, e);
+	}
+	
+	private String toString(Object[] string, Event e) {
+		String[] constantParts = this.constantParts;
+		assert constantParts != null;
 		StringBuilder b = new StringBuilder();
-		for (Object o : string) {
-			if (o instanceof Expression<?>) {
+		for (int i = 0; i < string.length; i++) {
+			Object o = string[i];
+			if (constantParts[i] != null) {
+				b.append(constantParts[i]);
+			} else if (o instanceof Expression<?>) {
 				b.append(Classes.toString(((Expression<?>) o).getArray(e), true, mode));
 			} else {
 				b.append(o);
@@ -391,15 +426,7 @@ public class VariableString implements Expression<String> {
 		}
 		Object[] string = this.stringUnformatted;
 		assert string != null;
-		StringBuilder b = new StringBuilder();
-		for (Object o : string) {
-			if (o instanceof Expression<?>) {
-				b.append(Classes.toString(((Expression<?>) o).getArray(e), true, mode));
-			} else {
-				b.append(o);
-			}
-		}
-		return b.toString();
+		return toString(string, e);
 	}
 	
 	/**
@@ -432,7 +459,10 @@ public class VariableString implements Expression<String> {
 				
 				// Convert it to plain text
 				String text = null;
-				if (o instanceof ExprColoured && ((ExprColoured) o).isUnsafeFormat()) { // Special case: user wants to process formatting
+				String[] constantParts = this.constantParts;
+				if (constantParts != null && constantParts[stringPart] != null) {
+					text = constantParts[stringPart];
+				} else if (o instanceof ExprColoured && ((ExprColoured) o).isUnsafeFormat()) { // Special case: user wants to process formatting
 					String unformatted = Classes.toString(((ExprColoured) o).getArray(e), true, mode);
 					if (unformatted != null) {
 						message.addAll(ChatMessages.parse(unformatted));
@@ -0,0 +1,226 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.lang.parser;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import ch.njol.skript.ScriptLoader;
+import ch.njol.skript.config.Node;
+import ch.njol.skript.lang.SkriptParser;
+import ch.njol.skript.lang.SyntaxElementInfo;
+
+/**
+ * An opt-in profiler for loading scripts, which records how long each line took to parse and how many patterns were tried for it,
+ * as well as how often and how long each pattern of each syntax element was tried.
+ * <p>
+ * Lines are recorded by {@link ScriptLoader} with {@link #startLine(Node)} and {@link #endLine(Node)},
+ * patterns by {@link SkriptParser} with {@link #recordMatch(SyntaxElementInfo, int, boolean, long)}.
+ * The time of a line does not include the time of the lines nested in it.
+ */
+public final class ParseProfiler {
+
+	private ParseProfiler() {}
+
+	private static final class LineStats {
+
+		final String script;
+		final int line;
+		final String text;
+		final LongAdder nanos = new LongAdder(), matches = new LongAdder(), parses = new LongAdder();
+
+		LineStats(String script, int line, String text) {
+			this.script = script;
+			this.line = line;
+			this.text = text;
+		}
+
+	}
+
+	private static final class PatternStats {
+
+		final String element;
+		final String pattern;
+		final LongAdder nanos = new LongAdder(), attempts = new LongAdder(), successes = new LongAdder();
+
+		PatternStats(String element, String pattern) {
+			this.element = element;
+			this.pattern = pattern;
+		}
+
+	}
+
+	/**
+	 * A line which is currently being parsed by some thread
+	 */
+	private static final class Frame {
+
+		final Node node;
+		final int generation;
+		final long start = System.nanoTime();
+		long childNanos, matches;
+
+		Frame(Node node, int generation) {
+			this.node = node;
+			this.generation = generation;
+		}
+
+	}
+
+	private static volatile boolean enabled = false;
+	/**
+	 * Incremented every time the profiler is enabled, to discard the frames left over from lines that were being parsed when it was disabled
+	 */
+	private static volatile int generation = 0;
+
+	private static final Map<String, LineStats> lines = new ConcurrentHashMap<>();
+	private static final Map<String, PatternStats> patterns = new ConcurrentHashMap<>();
+	private static final ThreadLocal<Deque<Frame>> frames = ThreadLocal.withInitial(ArrayDeque::new);
+
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Enables or disables the profiler. Recorded data is kept until {@link #reset()} is called.
+	 */
+	public static void setEnabled(boolean enabled) {
+		if (enabled && !ParseProfiler.enabled)
+			generation++;
+		ParseProfiler.enabled = enabled;
+	}
+
+	/**
+	 * Discards all recorded data
+	 */
+	public static void reset() {
+		lines.clear();
+		patterns.clear();
+	}
+
+	/**
+	 * Must be followed by {@link #endLine(Node)} with the same node once the line is parsed, e.g. in a finally block.
+	 */
+	public static void startLine(Node node) {
+		if (!enabled)
+			return;
+		Deque<Frame> frames = ParseProfiler.frames.get();
+		Frame top = frames.peek();
+		int generation = ParseProfiler.generation;
+		if (top != null && top.generation != generation) // the profiler was disabled while parsing these lines
+			frames.clear();
+		frames.push(new Frame(node, generation));
+	}
+
+	public static void endLine(Node node) {
+		if (!enabled)
+			return;
+		Deque<Frame> frames = ParseProfiler.frames.get();
+		Frame frame = frames.peek();
+		if (frame == null || frame.node != node) // profiler was enabled while parsing the line
+			return;
+		frames.pop();
+		long nanos = System.nanoTime() - frame.start;
+		Frame parent = frames.peek();
+		if (parent != null)
+			parent.childNanos += nanos;
+
+		String script = node.getConfig().getFileName();
+		LineStats stats = lines.computeIfAbsent(script + ':' + node.getLine(), k -> new LineStats(script, node.getLine(), "" + node.getKey()));
+		stats.nanos.add(nanos - frame.childNanos);
+		stats.matches.add(frame.matches);
+		stats.parses.increment();
+	}
+
+	/**
+	 * Records an attempt to match an expression with a pattern
+	 *
+	 * @param info The syntax element
+	 * @param pattern The index of the pattern of the syntax element
+	 * @param success Whether the pattern matched
+	 * @param nanos How long matching took
+	 */
+	public static void recordMatch(SyntaxElementInfo<?> info, int pattern, boolean success, long nanos) {
+		if (!enabled)
+			return;
+		Frame frame = frames.get().peek();
+		if (frame != null)
+			frame.matches++;
+		PatternStats stats = patterns.computeIfAbsent(info.c.getName() + '#' + pattern, k -> new PatternStats(info.c.getSimpleName(), info.patterns[pattern]));
+		stats.attempts.increment();
+		if (success)
+			stats.successes.increment();
+		stats.nanos.add(nanos);
+	}
+
+	/**
+	 * @param top How many lines, patterns and scripts to include
+	 * @return A report of the slowest lines, patterns and scripts, one line per element
+	 */
+	public static List<String> getReport(int top) {
+		List<String> report = new ArrayList<>();
+
+		List<LineStats> lines = new ArrayList<>(ParseProfiler.lines.values());
+		Map<String, Long> scripts = new HashMap<>();
+		for (LineStats stats : lines)
+			scripts.merge(stats.script, stats.nanos.sum(), Long::sum);
+		lines.sort(Comparator.comparingLong((LineStats stats) -> stats.nanos.sum()).reversed());
+		report.add("Slowest lines (time, patterns tried, times parsed, line):");
+		for (LineStats stats : lines.subList(0, Math.min(top, lines.size())))
+			report.add("  " + millis(stats.nanos.sum()) + "  " + stats.matches.sum() + "  " + stats.parses.sum() + "x  " + stats.script + ":" + stats.line + ": " + stats.text);
+
+		List<PatternStats> patterns = new ArrayList<>(ParseProfiler.patterns.values());
+		patterns.sort(Comparator.comparingLong((PatternStats stats) -> stats.nanos.sum()).reversed());
+		report.add("Slowest patterns (time, attempts, successes, element: pattern):");
+		for (PatternStats stats : patterns.subList(0, Math.min(top, patterns.size())))
+			report.add("  " + millis(stats.nanos.sum()) + "  " + stats.attempts.sum() + "  " + stats.successes.sum() + "  " + stats.element + ": " + stats.pattern);
+
+		List<Map.Entry<String, Long>> scriptList = new ArrayList<>(scripts.entrySet());
+		scriptList.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+		report.add("Slowest scripts (time, script):");
+		for (Map.Entry<String, Long> script : scriptList.subList(0, Math.min(top, scriptList.size())))
+			report.add("  " + millis(script.getValue()) + "  " + script.getKey());
+
+		return report;
+	}
+
+	/**
+	 * Writes a {@link #getReport(int) report} to the given file, replacing it if it exists.
+	 */
+	public static void writeReport(File file, int top) throws IOException {
+		Files.write(file.toPath(), getReport(top), StandardCharsets.UTF_8);
+	}
+
+	private static String millis(long nanos) {
+		return String.format(Locale.ENGLISH, "%.2fms", nanos / 1_000_000.0);
+	}
+
+}
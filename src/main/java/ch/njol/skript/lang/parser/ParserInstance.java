@@ -194,6 +194,14 @@ public class ParserInstance {
 		getDataInstances().forEach(data -> data.onCurrentScriptChange(currentScript));
 	}
 	
+	/**
+	 * Sets the current script without calling {@link Data#onCurrentScriptChange(Config)},
+	 * e.g. to parse a part of a script on another thread while the script is still loaded by its loading thread.
+	 */
+	public void setCurrentScriptWithoutData(@Nullable Config currentScript) {
+		this.currentScript = currentScript;
+	}
+	
 	public void setCurrentEventName(@Nullable String currentEventName) {
 		this.currentEventName = currentEventName;
 	}
@@ -0,0 +1,56 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.lang.util;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import ch.njol.skript.lang.Literal;
+
+/**
+ * Counts the expressions which are evaluated once when they are parsed instead of every time they are used,
+ * because all of their inputs are {@link Literal}s.
+ */
+public final class ConstantFolding {
+	
+	private ConstantFolding() {}
+	
+	private final static LongAdder folded = new LongAdder();
+	
+	/**
+	 * Called whenever a constant expression or part of an expression has been evaluated at parse time
+	 */
+	public static void folded() {
+		folded.increment();
+	}
+	
+	/**
+	 * @return Whether the given literal always returns the same values, which is not the case for e.g. '1 or 2', which returns one of its values at random
+	 */
+	public static boolean isConstant(final Literal<?> l) {
+		return l.getAnd() || l.getAll().length == 1;
+	}
+	
+	/**
+	 * @return How many expressions and parts of expressions were evaluated at parse time, e.g. for debugging
+	 */
+	public static String getStatistics() {
+		return folded.sum() + " constant expressions were evaluated when they were parsed";
+	}
+	
+}
@@ -0,0 +1,161 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.patterns;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+
+/**
+ * Finds which of a fixed set of keywords occur in a string with a single pass over the string, using an Aho-Corasick automaton.
+ * Used to check the {@link SkriptPattern#getKeywords() keywords} of many patterns at once.
+ * <p>
+ * Instances are immutable and thus thread-safe.
+ */
+public final class KeywordMatcher {
+
+	private final Map<String, Integer> ids;
+
+	// The automaton's nodes, node 0 being the root. The transitions of each node are sorted by character.
+	private final char[][] transitionCharacters;
+	private final int[][] transitionTargets;
+	private final int[] fail;
+	/**
+	 * The keyword ending at each node, or -1
+	 */
+	private final int[] keyword;
+	/**
+	 * The next node in the chain of fail links that ends a keyword, or -1
+	 */
+	private final int[] output;
+
+	/**
+	 * @param keywords The keywords to find. Empty keywords are ignored, as they are contained in every string.
+	 */
+	public KeywordMatcher(Iterable<String> keywords) {
+		ids = new HashMap<>();
+		List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+		List<Integer> keywordList = new ArrayList<>();
+		trie.add(new TreeMap<>());
+		keywordList.add(-1);
+		for (String k : keywords) {
+			if (k.isEmpty() || ids.containsKey(k))
+				continue;
+			int id = ids.size();
+			ids.put(k, id);
+			int node = 0;
+			for (int i = 0; i < k.length(); i++) {
+				Integer next = trie.get(node).get(k.charAt(i));
+				if (next == null) {
+					next = trie.size();
+					trie.add(new TreeMap<>());
+					keywordList.add(-1);
+					trie.get(node).put(k.charAt(i), next);
+				}
+				node = next;
+			}
+			keywordList.set(node, id);
+		}
+
+		int size = trie.size();
+		transitionCharacters = new char[size][];
+		transitionTargets = new int[size][];
+		keyword = new int[size];
+		for (int node = 0; node < size; node++) {
+			TreeMap<Character, Integer> transitions = trie.get(node);
+			transitionCharacters[node] = new char[transitions.size()];
+			transitionTargets[node] = new int[transitions.size()];
+			int i = 0;
+			for (Map.Entry<Character, Integer> e : transitions.entrySet()) {
+				transitionCharacters[node][i] = e.getKey();
+				transitionTargets[node][i] = e.getValue();
+				i++;
+			}
+			keyword[node] = keywordList.get(node);
+		}
+
+		// breadth-first, so the fail link of a node's parent is always known
+		fail = new int[size];
+		output = new int[size];
+		output[0] = -1;
+		Queue<Integer> queue = new ArrayDeque<>();
+		for (int child : transitionTargets[0]) {
+			fail[child] = 0;
+			output[child] = -1;
+			queue.add(child);
+		}
+		while (!queue.isEmpty()) {
+			int node = queue.remove();
+			for (int i = 0; i < transitionCharacters[node].length; i++) {
+				char c = transitionCharacters[node][i];
+				int child = transitionTargets[node][i];
+				int f = fail[node];
+				int target;
+				while ((target = transition(f, c)) == -1 && f != 0)
+					f = fail[f];
+				fail[child] = target == -1 ? 0 : target;
+				output[child] = keyword[fail[child]] != -1 ? fail[child] : output[fail[child]];
+				queue.add(child);
+			}
+		}
+	}
+
+	private int transition(int node, char c) {
+		int i = Arrays.binarySearch(transitionCharacters[node], c);
+		return i < 0 ? -1 : transitionTargets[node][i];
+	}
+
+	/**
+	 * @return The ID of the given keyword, to be looked up in the result of {@link #find(String)}, or -1 if the keyword is empty and thus always contained.
+	 * @throws IllegalArgumentException If the keyword was not passed to the constructor
+	 */
+	public int getId(String keyword) {
+		if (keyword.isEmpty())
+			return -1;
+		Integer id = ids.get(keyword);
+		if (id == null)
+			throw new IllegalArgumentException("Unknown keyword '" + keyword + "'");
+		return id;
+	}
+
+	/**
+	 * @return The IDs of the keywords contained in the given string (case-sensitive)
+	 */
+	public BitSet find(String s) {
+		BitSet found = new BitSet(ids.size());
+		int node = 0;
+		for (int i = 0; i < s.length(); i++) {
+			char c = s.charAt(i);
+			int target;
+			while ((target = transition(node, c)) == -1 && node != 0)
+				node = fail[node];
+			node = target == -1 ? 0 : target;
+			for (int n = keyword[node] != -1 ? node : output[node]; n != -1; n = output[n])
+				found.set(keyword[n]);
+		}
+		return found;
+	}
+
+}
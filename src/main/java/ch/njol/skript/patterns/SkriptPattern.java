@@ -24,8 +24,12 @@ import ch.njol.skript.lang.SkriptParser;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
 
 public class SkriptPattern {
 
@@ -34,10 +38,14 @@ public class SkriptPattern {
 
 	private final String[] keywords;
 
+	@Nullable
+	private final char[] firstCharacters;
+
 	public SkriptPattern(PatternElement first, int expressionAmount) {
 		this.first = first;
 		this.expressionAmount = expressionAmount;
 		keywords = getKeywords(first);
+		firstCharacters = getFirstCharacters(first);
 	}
 
 	@Nullable
@@ -63,11 +71,80 @@ public class SkriptPattern {
 		return match(expr, SkriptParser.ALL_FLAGS, ParseContext.DEFAULT);
 	}
 
+	/**
+	 * @return The literal keywords every expression matching this pattern contains, in lower case
+	 */
+	public String[] getKeywords() {
+		return keywords.clone();
+	}
+
+	/**
+	 * @return The characters, converted with {@link Character#toLowerCase(char)}, that a trimmed expression matching this pattern can start with,
+	 * or null if it can start with any character, e.g. because the pattern starts with a type.
+	 */
+	@Nullable
+	public char[] getFirstCharacters() {
+		return firstCharacters == null ? null : firstCharacters.clone();
+	}
+
 	@Override
 	public String toString() {
 		return first.toFullString();
 	}
 
+	@Nullable
+	private static char[] getFirstCharacters(PatternElement first) {
+		Set<Character> characters = new TreeSet<>();
+		if (!addFirstCharacters(first, characters, Collections.newSetFromMap(new IdentityHashMap<>())))
+			return null;
+		char[] array = new char[characters.size()];
+		int i = 0;
+		for (char c : characters)
+			array[i++] = c;
+		return array;
+	}
+
+	/**
+	 * Adds the characters an expression matching the given element and the elements following it can start with to the given set.
+	 * Elements already in {@code visited} have had their characters added already.
+	 *
+	 * @return false if the expression can start with any character
+	 */
+	private static boolean addFirstCharacters(@Nullable PatternElement element, Set<Character> characters, Set<PatternElement> visited) {
+		while (element != null) {
+			if (!visited.add(element))
+				return true;
+			if (element instanceof LiteralPatternElement) {
+				// LiteralPatternElement skips spaces at the start of the expression
+				String literal = element.toString();
+				for (int i = 0; i < literal.length(); i++) {
+					char c = literal.charAt(i);
+					if (c != ' ') {
+						characters.add(Character.toLowerCase(c));
+						return true;
+					}
+				}
+			} else if (element instanceof GroupPatternElement) {
+				return addFirstCharacters(((GroupPatternElement) element).getPatternElement(), characters, visited);
+			} else if (element instanceof ChoicePatternElement) {
+				for (PatternElement choice : ((ChoicePatternElement) element).getPatternElements()) {
+					if (!addFirstCharacters(choice, characters, visited))
+						return false;
+				}
+				return true;
+			} else if (element instanceof OptionalPatternElement) {
+				if (!addFirstCharacters(((OptionalPatternElement) element).getPatternElement(), characters, visited))
+					return false;
+			} else if (!(element instanceof ParseTagPatternElement)) {
+				// types and regexes
+				return false;
+			}
+			element = element.next;
+		}
+		// only an empty expression can match the rest of the pattern
+		return true;
+	}
+
 	public static String[] getKeywords(PatternElement first) {
 		List<String> keywords = new ArrayList<>();
 		PatternElement next = first;
@@ -22,10 +22,7 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.NotSerializableException;
-import java.io.SequenceInputStream;
 import java.lang.reflect.Array;
-import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -34,7 +31,10 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
 import org.bukkit.Bukkit;
@@ -55,16 +55,17 @@ import ch.njol.skript.lang.ParseContext;
 import ch.njol.skript.localization.Language;
 import ch.njol.skript.log.ParseLogHandler;
 import ch.njol.skript.log.SkriptLogger;
+import ch.njol.skript.tests.runner.TestMode;
 import ch.njol.skript.util.StringMode;
 import ch.njol.skript.variables.DatabaseStorage;
+import ch.njol.skript.variables.SerializedValueCache;
 import ch.njol.skript.variables.SerializedVariable;
 import ch.njol.skript.variables.Variables;
-import ch.njol.util.Kleenean;
 import ch.njol.util.StringUtils;
-import ch.njol.yggdrasil.Tag;
+import ch.njol.yggdrasil.DefaultYggdrasilOutputStream;
 import ch.njol.yggdrasil.Yggdrasil;
+import ch.njol.yggdrasil.YggdrasilException;
 import ch.njol.yggdrasil.YggdrasilInputStream;
-import ch.njol.yggdrasil.YggdrasilOutputStream;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
 /**
@@ -78,7 +79,7 @@ public abstract class Classes {
 	private static ClassInfo<?>[] classInfos = null;
 	private final static List<ClassInfo<?>> tempClassInfos = new ArrayList<>();
 	private final static HashMap<Class<?>, ClassInfo<?>> exactClassInfos = new HashMap<>();
-	private final static HashMap<Class<?>, ClassInfo<?>> superClassInfos = new HashMap<>();
+	private final static Map<Class<?>, ClassInfo<?>> superClassInfos = new ConcurrentHashMap<>();
 	private final static HashMap<String, ClassInfo<?>> classInfosByCodeName = new HashMap<>();
 	
 	/**
@@ -612,19 +613,45 @@ public abstract class Classes {
 			}
 			return "[" + b.toString() + "]";
 		}
-		for (final ClassInfo<?> ci : getClassInfos()) {
+		final ClassInfo<?> ci = getParserClassInfo(o.getClass());
+		if (ci != null) {
 			final Parser<?> parser = ci.getParser();
-			if (parser != null && ci.getC().isInstance(o)) {
-				@SuppressWarnings("unchecked")
-				final String s = mode == StringMode.MESSAGE ? ((Parser<T>) parser).toString(o, flags)
-						: mode == StringMode.DEBUG ? "[" + ci.getCodeName() + ":" + ((Parser<T>) parser).toString(o, mode) + "]"
-								: ((Parser<T>) parser).toString(o, mode);
-				return s;
-			}
+			assert parser != null;
+			@SuppressWarnings("unchecked")
+			final String s = mode == StringMode.MESSAGE ? ((Parser<T>) parser).toString(o, flags)
+					: mode == StringMode.DEBUG ? "[" + ci.getCodeName() + ":" + ((Parser<T>) parser).toString(o, mode) + "]"
+							: ((Parser<T>) parser).toString(o, mode);
+			return s;
 		}
 		return mode == StringMode.VARIABLE_NAME ? "object:" + o : "" + o;
 	}
 	
+	/**
+	 * Caches the results of {@link #getParserClassInfo(Class)}, with an empty Optional denoting that no class info can format the class.
+	 * Only filled after registrations have stopped, like {@link #superClassInfos}.
+	 */
+	private final static Map<Class<?>, Optional<ClassInfo<?>>> parserClassInfos = new ConcurrentHashMap<>();
+	
+	/**
+	 * @return The first class info with a parser which can format instances of the given class, which is the same for all {@link StringMode}s
+	 */
+	@Nullable
+	private static ClassInfo<?> getParserClassInfo(final Class<?> c) {
+		final Optional<ClassInfo<?>> cached = parserClassInfos.get(c);
+		if (cached != null)
+			return cached.orElse(null);
+		ClassInfo<?> info = null;
+		for (final ClassInfo<?> ci : getClassInfos()) {
+			if (ci.getParser() != null && ci.getC().isAssignableFrom(c)) {
+				info = ci;
+				break;
+			}
+		}
+		if (!Skript.isAcceptRegistrations())
+			parserClassInfos.put(c, Optional.ofNullable(info));
+		return info;
+	}
+	
 	public static String toString(final Object[] os, final int flags, final boolean and) {
 		return toString(os, and, null, StringMode.MESSAGE, flags);
 	}
@@ -662,36 +689,81 @@ public abstract class Classes {
 	}
 	
 	/**
-	 * consists of {@link Yggdrasil#MAGIC_NUMBER} and {@link Variables#YGGDRASIL_VERSION}
+	 * Buffer and Yggdrasil streams reused by {@link Classes#serialize(Object, short)}. Values are serialised on the main thread as well as by storages saving all
+	 * variables asynchronously, thus every thread has its own context.
 	 */
-	private final static byte[] YGGDRASIL_START = {(byte) 'Y', (byte) 'g', (byte) 'g', 0, (Variables.YGGDRASIL_VERSION >>> 8) & 0xFF, Variables.YGGDRASIL_VERSION & 0xFF};
-	
-	@SuppressWarnings("null")
-	private final static Charset UTF_8 = Charset.forName("UTF-8");
-	
-	private static byte[] getYggdrasilStart(final ClassInfo<?> c) throws NotSerializableException {
-		assert Enum.class.isAssignableFrom(Kleenean.class) && Tag.getType(Kleenean.class) == Tag.T_ENUM : Tag.getType(Kleenean.class); // TODO why is this check here?
-		final Tag t = Tag.getType(c.getC());
-		assert t.isWrapper() || t == Tag.T_STRING || t == Tag.T_OBJECT || t == Tag.T_ENUM;
-		final byte[] cn = t == Tag.T_OBJECT || t == Tag.T_ENUM ? Variables.yggdrasil.getID(c.getC()).getBytes(UTF_8) : null;
-		final byte[] r = new byte[YGGDRASIL_START.length + 1 + (cn == null ? 0 : 1 + cn.length)];
-		int i = 0;
-		for (; i < YGGDRASIL_START.length; i++)
-			r[i] = YGGDRASIL_START[i];
-		r[i++] = t.tag;
-		if (cn != null) {
-			r[i++] = (byte) cn.length;
-			for (int j = 0; j < cn.length; j++)
-				r[i++] = cn[j];
+	private final static class SerializationContext {
+		
+		/**
+		 * Buffers which grew larger than this while serialising a value are not kept
+		 */
+		final static int MAX_BUFFER_SIZE = 64 * 1024;
+		
+		final ByteArrayOutputStream buffer = new ByteArrayOutputStream(256);
+		final DefaultYggdrasilOutputStream[] streams = new DefaultYggdrasilOutputStream[Yggdrasil.LATEST_VERSION + 1];
+		
+		/**
+		 * Whether this context is currently used, i.e. whether a serializer is serialising another value
+		 */
+		boolean inUse = false;
+		
+		/**
+		 * Number of values serialised since the last check, see {@link Classes#serializationCheckInterval}
+		 */
+		int unchecked = 0;
+		
+		DefaultYggdrasilOutputStream getStream(final Class<?> type, final short version) {
+			buffer.reset();
+			DefaultYggdrasilOutputStream stream = streams[version];
+			if (stream == null) {
+				stream = Variables.yggdrasil.newValueOutputStream(buffer, type, version);
+				streams[version] = stream;
+			} else {
+				stream.reuse(type);
+			}
+			return stream;
 		}
-		assert i == r.length;
-		return r;
+		
+	}
+	
+	private final static ThreadLocal<SerializationContext> serializationContexts = ThreadLocal.withInitial(SerializationContext::new);
+	
+	private final static SerializedValueCache serializedValueCache = new SerializedValueCache();
+	
+	/**
+	 * @return The cache of serialised forms of immutable values used by {@link #serialize(Object, short)}
+	 */
+	public static SerializedValueCache getSerializedValueCache() {
+		return serializedValueCache;
+	}
+	
+	/**
+	 * Every how many values {@link #serialize(Object, short)} deserialises one again to check whether it equals the original value, or 0 to never do so.
+	 * Every value is checked in test mode.
+	 */
+	private static volatile int serializationCheckInterval = TestMode.ENABLED ? 1 : 0;
+	
+	public static void setSerializationCheckInterval(final int interval) {
+		if (!TestMode.ENABLED)
+			serializationCheckInterval = Math.max(interval, 0);
 	}
 	
 	/**
 	 * Must be called on the appropriate thread for the given value (i.e. the main thread currently)
 	 */
 	public static SerializedVariable.@Nullable Value serialize(@Nullable Object o) {
+		return serialize(o, Variables.getValueVersion());
+	}
+	
+	/**
+	 * Must be called on the appropriate thread for the given value (i.e. the main thread currently)
+	 * <p>
+	 * Values of {@link ClassInfo#isImmutable() immutable} types may share the returned value with previous calls, thus it must not be modified.
+	 * 
+	 * @param version The Yggdrasil version to serialise the value with
+	 * @see Yggdrasil#newValueOutputStream(java.io.OutputStream, Class, short)
+	 */
+	public static SerializedVariable.@Nullable Value serialize(@Nullable Object o, final short version) {
 		if (o == null)
 			return null;
 		
@@ -718,26 +790,45 @@ public abstract class Classes {
 		
 		assert s.mustSyncDeserialization() ? Bukkit.isPrimaryThread() : true;
 		
+		final boolean immutable = ci.isImmutable();
+		if (immutable) {
+			final SerializedVariable.Value cached = serializedValueCache.get(o, version);
+			if (cached != null)
+				return cached;
+		}
+		
+		SerializationContext context = serializationContexts.get();
+		if (context.inUse) // a serializer serialises another value
+			context = new SerializationContext();
+		context.inUse = true;
 		try {
-			final ByteArrayOutputStream bout = new ByteArrayOutputStream();
-			final YggdrasilOutputStream yout = Variables.yggdrasil.newOutputStream(bout);
+			final DefaultYggdrasilOutputStream yout = context.getStream(ci.getC(), version);
 			yout.writeObject(o);
 			yout.flush();
-			yout.close();
-			final byte[] r = bout.toByteArray();
-			final byte[] start = getYggdrasilStart(ci);
-			for (int i = 0; i < start.length; i++)
-				assert r[i] == start[i] : o + " (" + ci.getC().getName() + "); " + Arrays.toString(start) + ", " + Arrays.toString(r);
-			final byte[] r2 = new byte[r.length - start.length];
-			System.arraycopy(r, start.length, r2, 0, r2.length);
+			final byte[] r = context.buffer.toByteArray();
 			
-			Object d;
-			assert equals(o, d = deserialize(ci, new ByteArrayInputStream(r2))) : o + " (" + o.getClass() + ") != " + d + " (" + (d == null ? null : d.getClass()) + "): " + Arrays.toString(r);
+			final int checkInterval = serializationCheckInterval;
+			if (checkInterval > 0 && ++context.unchecked >= checkInterval) {
+				context.unchecked = 0;
+				final Object d = deserialize(ci, new ByteArrayInputStream(r), version);
+				if (!equals(o, d)) {
+					final String message = o + " (" + o.getClass() + ") != " + d + " (" + (d == null ? null : d.getClass()) + "): " + Arrays.toString(r);
+					assert false : message;
+					Skript.error("A value of type " + ci.getCodeName() + " changed when it was serialised: " + message);
+				}
+			}
 			
-			return new SerializedVariable.Value(ci.getCodeName(), r2);
-		} catch (final IOException e) { // shouldn't happen
+			final SerializedVariable.Value value = new SerializedVariable.Value(ci.getCodeName(), r);
+			if (immutable)
+				serializedValueCache.put(o, version, value);
+			return value;
+		} catch (final IOException | YggdrasilException e) { // shouldn't happen
 			Skript.exception(e);
 			return null;
+		} finally {
+			context.inUse = false;
+			if (context.buffer.size() > SerializationContext.MAX_BUFFER_SIZE && context == serializationContexts.get())
+				serializationContexts.remove();
 		}
 	}
 	
@@ -756,22 +847,40 @@ public abstract class Classes {
 		return deserialize(type, new ByteArrayInputStream(value));
 	}
 	
+	@Nullable
+	public static Object deserialize(final ClassInfo<?> type, final byte[] value, final short version) {
+		return deserialize(type, new ByteArrayInputStream(value), version);
+	}
+	
 	@Nullable
 	public static Object deserialize(final String type, final byte[] value) {
+		return deserialize(type, value, Variables.getValueVersion());
+	}
+	
+	@Nullable
+	public static Object deserialize(final String type, final byte[] value, final short version) {
 		final ClassInfo<?> ci = getClassInfoNoError(type);
 		if (ci == null)
 			return null;
-		return deserialize(ci, new ByteArrayInputStream(value));
+		return deserialize(ci, new ByteArrayInputStream(value), version);
 	}
 	
 	@Nullable
-	public static Object deserialize(final ClassInfo<?> type, InputStream value) {
+	public static Object deserialize(final ClassInfo<?> type, final InputStream value) {
+		return deserialize(type, value, Variables.getValueVersion());
+	}
+	
+	/**
+	 * @param version The Yggdrasil version the value was serialised with
+	 * @see Yggdrasil#newValueInputStream(InputStream, Class, short)
+	 */
+	@Nullable
+	public static Object deserialize(final ClassInfo<?> type, final InputStream value, final short version) {
 		Serializer<?> s;
 		assert (s = type.getSerializer()) != null && (s.mustSyncDeserialization() ? Bukkit.isPrimaryThread() : true) : type + "; " + s + "; " + Bukkit.isPrimaryThread();
 		YggdrasilInputStream in = null;
 		try {
-			value = new SequenceInputStream(new ByteArrayInputStream(getYggdrasilStart(type)), value);
-			in = Variables.yggdrasil.newInputStream(value);
+			in = Variables.yggdrasil.newValueInputStream(value, type.getC(), version);
 			return in.readObject();
 		} catch (final IOException e) { // i.e. invalid save
 			if (Skript.testing())
@@ -20,8 +20,7 @@ package ch.njol.skript.registrations;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Optional;
 
 import org.eclipse.jdt.annotation.Nullable;
 
@@ -31,7 +30,6 @@ import ch.njol.skript.classes.Comparator.ComparatorInfo;
 import ch.njol.skript.classes.Comparator.Relation;
 import ch.njol.skript.classes.Converter;
 import ch.njol.skript.classes.InverseComparator;
-import ch.njol.util.Pair;
 
 /**
  * @author Peter Güttinger
@@ -57,6 +55,13 @@ public class Comparators {
 		comparators.add(new ComparatorInfo<>(t1, t2, c));
 	}
 	
+	/**
+	 * Creates the cache of {@link #getComparator(Class, Class)}. Must be called after converters have been created, as comparators may convert the compared values.
+	 */
+	public static void onRegistrationsStop() {
+		comparatorsQuickAccess = new ComparatorsCache();
+	}
+	
 	@SuppressWarnings({"rawtypes", "unchecked"})
 	public static Relation compare(final @Nullable Object o1, final @Nullable Object o2) {
 		if (o1 == null || o2 == null)
@@ -79,17 +84,48 @@ public class Comparators {
 		return javaComparator;
 	}
 	
-	private final static Map<Pair<Class<?>, Class<?>>, Comparator<?, ?>> comparatorsQuickAccess = new HashMap<>();
+	/**
+	 * Caches the results of {@link #getComparator(Class, Class)} by the first and then by the second type, with an empty Optional denoting the nonexistence of a comparator.
+	 * A lookup does not allocate, and is thread-safe, as scripts may be loaded by several threads.
+	 * <p>
+	 * Values cannot be removed from a {@link ClassValue}, so the cache is only created once all comparators are registered, see {@link #onRegistrationsStop()}.
+	 * Until then, comparators are looked up without a cache.
+	 */
+	@Nullable
+	private static volatile ComparatorsCache comparatorsQuickAccess = null;
+	
+	/**
+	 * The caches are static classes, as every class's {@link ClassValue} entries would otherwise keep the enclosing cache reachable
+	 */
+	private static final class ComparatorsCache extends ClassValue<SecondComparatorsCache> {
+		@Override
+		protected SecondComparatorsCache computeValue(final Class<?> f) {
+			return new SecondComparatorsCache(f);
+		}
+	}
+	
+	private static final class SecondComparatorsCache extends ClassValue<Optional<Comparator<?, ?>>> {
+		
+		private final Class<?> f;
+		
+		SecondComparatorsCache(final Class<?> f) {
+			this.f = f;
+		}
+		
+		@Override
+		protected Optional<Comparator<?, ?>> computeValue(final Class<?> s) {
+			return Optional.ofNullable(getComparator_i(f, s));
+		}
+		
+	}
 	
 	@SuppressWarnings("unchecked")
 	@Nullable
 	public static <F, S> Comparator<? super F, ? super S> getComparator(final Class<F> f, final Class<S> s) {
-		final Pair<Class<?>, Class<?>> p = new Pair<>(f, s);
-		if (comparatorsQuickAccess.containsKey(p))
-			return (Comparator<? super F, ? super S>) comparatorsQuickAccess.get(p);
-		final Comparator<?, ?> comp = getComparator_i(f, s);
-		comparatorsQuickAccess.put(p, comp);
-		return (Comparator<? super F, ? super S>) comp;
+		final ComparatorsCache cache = comparatorsQuickAccess;
+		if (cache == null) // registrations have not stopped yet
+			return (Comparator<? super F, ? super S>) getComparator_i(f, s);
+		return (Comparator<? super F, ? super S>) cache.get(f).get(s).orElse(null);
 	}
 	
 	@SuppressWarnings("unchecked")
@@ -22,9 +22,8 @@ import java.lang.reflect.Array;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.Optional;
 
 import org.eclipse.jdt.annotation.Nullable;
 
@@ -33,7 +32,6 @@ import ch.njol.skript.classes.ChainedConverter;
 import ch.njol.skript.classes.Converter;
 import ch.njol.skript.classes.Converter.ConverterInfo;
 import ch.njol.skript.classes.Converter.ConverterUtils;
-import ch.njol.util.Pair;
 
 /**
  * Contains all registered converters and allows operating with them.
@@ -91,6 +89,12 @@ public abstract class Converters {
 				}
 			}
 		}
+		
+		// Resolve the registered type pairs up front, so that the common lookups never have to scan the converters
+		final ConvertersCache cache = new ConvertersCache();
+		for (final ConverterInfo<?, ?> info : converters)
+			cache.get(info.from).get(info.to);
+		convertersCache = cache;
 	}
 	
 	/**
@@ -152,12 +156,10 @@ public abstract class Converters {
 		for (final Class<? extends T> t : to)
 			if (t.isInstance(o))
 				return (T) o;
-		final Class<F> c = (Class<F>) o.getClass();
 		for (final Class<? extends T> t : to) {
-			@SuppressWarnings("null")
-			final Converter<? super F, ? extends T> conv = getConverter(c, t);
-			if (conv != null)
-				return conv.convert(o);
+			final ConverterInfo<?, ?> info = getConverterInfo(o.getClass(), t);
+			if (info != null)
+				return ((Converter<? super F, ? extends T>) info.converter).convert(o);
 		}
 		return null;
 	}
@@ -255,7 +257,40 @@ public abstract class Converters {
 			throw new ClassCastException();
 	}
 
-	private final static Map<Pair<Class<?>, Class<?>>, ConverterInfo<?, ?>> convertersCache = new HashMap<>();
+	/**
+	 * Caches the results of {@link #getConverterInfo(Class, Class)} by source and then by target type, with an empty Optional denoting the nonexistence of a converter.
+	 * Unlike a map keyed by pairs of classes, a lookup does not allocate, and is thread-safe, as scripts may be loaded by several threads.
+	 * <p>
+	 * Values cannot be removed from a {@link ClassValue}, so the cache is only created by {@link #createMissingConverters()} once all converters are registered.
+	 * Until then, converters are looked up without a cache.
+	 */
+	@Nullable
+	private static volatile ConvertersCache convertersCache = null;
+	
+	/**
+	 * The caches are static classes, as every class's {@link ClassValue} entries would otherwise keep the enclosing cache reachable
+	 */
+	private static final class ConvertersCache extends ClassValue<TargetConvertersCache> {
+		@Override
+		protected TargetConvertersCache computeValue(final Class<?> from) {
+			return new TargetConvertersCache(from);
+		}
+	}
+	
+	private static final class TargetConvertersCache extends ClassValue<Optional<ConverterInfo<?, ?>>> {
+		
+		private final Class<?> from;
+		
+		TargetConvertersCache(final Class<?> from) {
+			this.from = from;
+		}
+		
+		@Override
+		protected Optional<ConverterInfo<?, ?>> computeValue(final Class<?> to) {
+			return Optional.ofNullable(lookupConverterInfo(from, to));
+		}
+		
+	}
 	
 	/**
 	 * Tests whether a converter between the given classes exists.
@@ -302,12 +337,10 @@ public abstract class Converters {
 	@SuppressWarnings("unchecked")
 	@Nullable
 	public static <F, T> ConverterInfo<? super F, ? extends T> getConverterInfo(Class<F> from, Class<T> to) {
-		Pair<Class<?>, Class<?>> p = new Pair<>(from, to);
-		if (convertersCache.containsKey(p)) // can contain null to denote nonexistence of a converter
-			return (ConverterInfo<? super F, ? extends T>) convertersCache.get(p);
-		ConverterInfo<? super F, ? extends T> c = lookupConverterInfo(from, to);
-		convertersCache.put(p, c);
-		return c;
+		final ConvertersCache cache = convertersCache;
+		if (cache == null) // registrations have not stopped yet
+			return lookupConverterInfo(from, to);
+		return (ConverterInfo<? super F, ? extends T>) cache.get(from).get(to).orElse(null);
 	}
 	
 	@SuppressWarnings("unchecked")
@@ -22,7 +22,9 @@ import ch.njol.skript.classes.ClassInfo;
 import ch.njol.skript.lang.function.Functions;
 import ch.njol.skript.lang.function.Parameter;
 import ch.njol.skript.lang.function.SimpleJavaFunction;
+import ch.njol.skript.registrations.Classes;
 import ch.njol.skript.registrations.DefaultClasses;
+import ch.njol.skript.variables.SerializedVariable;
 
 /**
  * Functions available only to testing scripts.
@@ -48,6 +50,42 @@ public class TestFunctions {
 						"caseEquals(\"text\", \"text\", \"text\") = true", 
 						"caseEquals({some list variable::*})")
 			.since("2.5"));
+		
+		Parameter<?>[] reserializeParams = new Parameter[] {
+			new Parameter<>("value", DefaultClasses.OBJECT, true, null),
+			new Parameter<>("version", DefaultClasses.NUMBER, true, null)
+		};
+		Functions.registerFunction(new SimpleJavaFunction<Object>("reserialize", reserializeParams, DefaultClasses.OBJECT, true) {
+			@Override
+			public Object[] executeSimple(final Object[][] params) {
+				short version = ((Number) params[1][0]).shortValue();
+				SerializedVariable.Value value = Classes.serialize(params[0][0], version);
+				if (value == null)
+					return new Object[0];
+				Object o = Classes.deserialize(value.type, value.data, version);
+				return o == null ? new Object[0] : new Object[] {o};
+			}
+		}.description("Saves a value like a variable with the given Yggdrasil version and loads it again.")
+			.examples("reserialize(1.5 minutes, 1) = 1.5 minutes")
+			.since("INSERT VERSION"));
+		
+		Parameter<?>[] legacyValueParams = new Parameter[] {
+			new Parameter<>("type", stringClass, true, null),
+			new Parameter<>("data", stringClass, true, null)
+		};
+		Functions.registerFunction(new SimpleJavaFunction<Object>("legacyValue", legacyValueParams, DefaultClasses.OBJECT, true) {
+			@Override
+			public Object[] executeSimple(final Object[][] params) {
+				String hex = (String) params[1][0];
+				byte[] data = new byte[hex.length() / 2];
+				for (int i = 0; i < data.length; i++)
+					data[i] = (byte) Integer.parseInt(hex.substring(2 * i, 2 * i + 2), 16);
+				Object o = Classes.deserialize((String) params[0][0], data, (short) 1);
+				return o == null ? new Object[0] : new Object[] {o};
+			}
+		}.description("Loads a value of the given type from its hexadecimal Yggdrasil version 1 data, as stored in variable files of older versions.")
+			.examples("legacyValue(\"timespan\", \"81066d696c6c6973040000000000015f90\") = 1.5 minutes")
+			.since("INSERT VERSION"));
 	}
 	
 }
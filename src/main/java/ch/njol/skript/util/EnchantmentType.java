@@ -20,7 +20,6 @@ package ch.njol.skript.util;
 
 import java.util.Collection;
 import java.util.HashMap;
-import java.util.Locale;
 import java.util.Map;
 import java.util.regex.Pattern;
 
@@ -30,6 +29,7 @@ import org.eclipse.jdt.annotation.Nullable;
 import ch.njol.skript.aliases.ItemType;
 import ch.njol.skript.bukkitutil.EnchantmentUtils;
 import ch.njol.skript.localization.Language;
+import ch.njol.util.coll.CaseInsensitiveLookup;
 import ch.njol.yggdrasil.YggdrasilSerializable;
 
 /**
@@ -108,19 +108,21 @@ public class EnchantmentType implements YggdrasilSerializable {
 	}
 	
 	private final static Map<Enchantment, String> NAMES = new HashMap<>();
-	private final static Map<String, Enchantment> PATTERNS = new HashMap<>();
+	private static volatile CaseInsensitiveLookup<Enchantment> PATTERNS = new CaseInsensitiveLookup<>();
 	
 	static {
 		Language.addListener(() -> {
 			NAMES.clear();
+			CaseInsensitiveLookup<Enchantment> patterns = new CaseInsensitiveLookup<>();
 			for (Enchantment e : Enchantment.values()) {
 				assert e != null;
 				final String[] names = Language.getList(LANGUAGE_NODE + ".names." + EnchantmentUtils.getKey(e));
 				NAMES.put(e, names[0]);
 				
 				for (String name : names)
-					PATTERNS.put(name.toLowerCase(Locale.ENGLISH), e);
+					patterns.put(name, e);
 			}
+			PATTERNS = patterns;
 		});
 	}
 	
@@ -136,12 +138,11 @@ public class EnchantmentType implements YggdrasilSerializable {
 	@Nullable
 	public static EnchantmentType parse(final String s) {
 		if (pattern.matcher(s).matches()) {
-			String name = s.substring(0, s.lastIndexOf(' '));
-			assert name != null;
-			final Enchantment ench = parseEnchantment(name);
+			int space = s.lastIndexOf(' ');
+			final Enchantment ench = PATTERNS.get(s, 0, space);
 			if (ench == null)
 				return null;
-			String level = s.substring(s.lastIndexOf(' ') + 1);
+			String level = s.substring(space + 1);
 			assert level != null;
 			return new EnchantmentType(ench, Utils.parseInt(level));
 		}
@@ -153,7 +154,7 @@ public class EnchantmentType implements YggdrasilSerializable {
 	
 	@Nullable
 	public static Enchantment parseEnchantment(final String s) {
-		return PATTERNS.get(s.toLowerCase(Locale.ENGLISH));
+		return PATTERNS.get(s);
 	}
 	
 	@SuppressWarnings("null")
@@ -18,13 +18,12 @@
  */
 package ch.njol.skript.util;
 
-import java.util.HashMap;
-
 import org.eclipse.jdt.annotation.Nullable;
 
 import ch.njol.skript.localization.Language;
 import ch.njol.skript.localization.LanguageChangeListener;
 import ch.njol.util.StringUtils;
+import ch.njol.util.coll.CaseInsensitiveLookup;
 
 /**
  * @author Peter Güttinger
@@ -35,7 +34,10 @@ public final class EnumUtils<E extends Enum<E>> {
 	private final String languageNode;
 	
 	private String[] names;
-	private final HashMap<String, E> parseMap = new HashMap<>();
+	/**
+	 * Replaced as a whole when the names change, so that it can be read by any thread
+	 */
+	private volatile CaseInsensitiveLookup<E> parseMap = new CaseInsensitiveLookup<>();
 	
 	public EnumUtils(final Class<E> c, final String languageNode) {
 		assert c != null && c.isEnum() : c;
@@ -67,20 +69,21 @@ public final class EnumUtils<E extends Enum<E>> {
 		}
 		
 		if (update) {
-			parseMap.clear();
+			final CaseInsensitiveLookup<E> parseMap = new CaseInsensitiveLookup<>();
 			for (final E e : c.getEnumConstants()) {
 				final String[] ls = Language.getList(languageNode + "." + e.name());
 				names[e.ordinal()] = ls[0];
 				for (final String l : ls)
-					parseMap.put(l.toLowerCase(), e);
+					parseMap.put(l, e);
 			}
+			this.parseMap = parseMap;
 		}
 	}
 	
 	@Nullable
 	public final E parse(final String s) {
 		validate(false);
-		return parseMap.get(s.toLowerCase());
+		return parseMap.get(s);
 	}
 	
 	@SuppressWarnings("null")
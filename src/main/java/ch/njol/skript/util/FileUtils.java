@@ -27,6 +27,7 @@ import java.nio.file.Files;
 import java.nio.file.StandardCopyOption;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 
 import ch.njol.skript.classes.Converter;
@@ -185,4 +186,24 @@ public abstract class FileUtils {
 		}
 	}
 	
+	/**
+	 * Appends the name, size and modification time of the given file, or of all files in the given directory and its subdirectories, to the given builder.
+	 * Used to detect whether files have changed since the last start, e.g. for caches. Does nothing if the file doesn't exist.
+	 * 
+	 * @param b The builder to append to
+	 * @param file A file or directory
+	 */
+	public static void appendStamps(final StringBuilder b, final File file) {
+		if (file.isDirectory()) {
+			final File[] files = file.listFiles();
+			if (files == null)
+				return;
+			Arrays.sort(files);
+			for (final File f : files)
+				appendStamps(b, f);
+		} else if (file.exists()) {
+			b.append(';').append(file.getName()).append(' ').append(file.length()).append(' ').append(file.lastModified());
+		}
+	}
+	
 }
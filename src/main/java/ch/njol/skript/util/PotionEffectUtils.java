@@ -20,10 +20,7 @@ package ch.njol.skript.util;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Locale;
-import java.util.Map;
 
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.ThrownPotion;
@@ -40,6 +37,7 @@ import ch.njol.skript.Skript;
 import ch.njol.skript.aliases.ItemType;
 import ch.njol.skript.localization.Language;
 import ch.njol.skript.localization.LanguageChangeListener;
+import ch.njol.util.coll.CaseInsensitiveLookup;
 
 /**
  * @author Peter Güttinger
@@ -51,7 +49,7 @@ public abstract class PotionEffectUtils {
 	
 	private PotionEffectUtils() {}
 	
-	final static Map<String, PotionEffectType> types = new HashMap<>();
+	static volatile CaseInsensitiveLookup<PotionEffectType> types = new CaseInsensitiveLookup<>();
 	
 	final static String[] names = new String[getMaxPotionId() + 1];
 	
@@ -69,23 +67,24 @@ public abstract class PotionEffectUtils {
 		Language.addListener(new LanguageChangeListener() {
 			@Override
 			public void onLanguageChange() {
-				types.clear();
+				final CaseInsensitiveLookup<PotionEffectType> types = new CaseInsensitiveLookup<>();
 				for (final PotionEffectType t : PotionEffectType.values()) {
 					if (t == null)
 						continue;
 					final String[] ls = Language.getList("potions." + t.getName());
 					names[t.getId()] = ls[0];
 					for (final String l : ls) {
-						types.put(l.toLowerCase(Locale.ENGLISH), t);
+						types.put(l, t);
 					}
 				}
+				PotionEffectUtils.types = types;
 			}
 		});
 	}
 	
 	@Nullable
 	public static PotionEffectType parseType(final String s) {
-		return types.get(s.toLowerCase(Locale.ENGLISH));
+		return types.get(s);
 	}
 	
 	// This is a stupid bandaid to fix comparison issues when converting potion datas
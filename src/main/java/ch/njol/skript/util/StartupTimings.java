@@ -0,0 +1,73 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.util;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import ch.njol.skript.Skript;
+
+/**
+ * Records how long each phase of enabling Skript took, in the order the phases finished. Phases which run in the background
+ * overlap with the others, so the durations do not add up to the time Skript took to start.
+ * <p>
+ * Used by {@link Skript#onEnable()} and shown by <tt>/skript profile startup</tt>. Addons may record their own phases as well.
+ */
+public final class StartupTimings {
+
+	private StartupTimings() {}
+
+	private static final Map<String, Long> phases = new LinkedHashMap<>();
+
+	/**
+	 * @return The start time to pass to {@link #finish(String, long)}
+	 */
+	public static long start() {
+		return System.nanoTime();
+	}
+
+	/**
+	 * Records a phase which started at the given time and just finished. If the phase has been recorded before, the durations are added.
+	 *
+	 * @param phase The name of the phase, e.g. "aliases"
+	 * @param start The value returned by {@link #start()} when the phase started
+	 */
+	public static void finish(String phase, long start) {
+		long nanos = System.nanoTime() - start;
+		synchronized (phases) {
+			phases.merge(phase, nanos, Long::sum);
+		}
+	}
+
+	/**
+	 * @return One line per recorded phase with its duration and name
+	 */
+	public static List<String> getReport() {
+		List<String> report = new ArrayList<>();
+		synchronized (phases) {
+			for (Map.Entry<String, Long> phase : phases.entrySet())
+				report.add(String.format(Locale.ENGLISH, "%8.1fms  %s", phase.getValue() / 1_000_000.0, phase.getKey()));
+		}
+		return report;
+	}
+
+}
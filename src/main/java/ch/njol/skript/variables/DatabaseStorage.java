@@ -372,6 +372,14 @@ public class DatabaseStorage extends VariablesStorage {
 
 	}
 
+	/**
+	 * Rows don't record which version their value was serialised with, and the database may be shared with servers running an older version of Skript.
+	 */
+	@Override
+	protected short getYggdrasilVersion() {
+		return 1;
+	}
+
 	@Override
 	protected boolean requiresFile() {
 		return type == Type.SQLITE;
@@ -641,7 +649,7 @@ public class DatabaseStorage extends VariablesStorage {
 //					if (s.mustSyncDeserialization()) {
 //						syncDeserializing.add(new VariableInfo(name, value, c));
 //					} else {
-							final Object d = Classes.deserialize(c, value);
+							final Object d = Classes.deserialize(c, value, getYggdrasilVersion());
 							if (d == null) {
 								Skript.error("Cannot load the variable {" + name + "} from the database '" + databaseName + "', because it cannot be loaded as " + c.getName().withIndefiniteArticle());
 								continue;
@@ -37,6 +37,7 @@ import java.util.regex.Pattern;
 import org.eclipse.jdt.annotation.Nullable;
 
 import ch.njol.skript.Skript;
+import ch.njol.skript.SkriptConfig;
 import ch.njol.skript.config.SectionNode;
 import ch.njol.skript.lang.Variable;
 import ch.njol.skript.log.SkriptLogger;
@@ -75,6 +76,11 @@ public class FlatFileStorage extends VariablesStorage {
 	
 	private boolean loadError = false;
 	
+	/**
+	 * The Yggdrasil version the values in the file are serialised with. Files without a version header were written with version 1.
+	 */
+	private short yggdrasilVersion = 1;
+	
 	protected FlatFileStorage(final String name) {
 		super(name);
 	}
@@ -113,6 +119,13 @@ public class FlatFileStorage extends VariablesStorage {
 							update2_0_beta3 = varVersion.isSmallerThan(v2_0_beta3);
 							update2_1 = varVersion.isSmallerThan(v2_1);
 						} catch (final IllegalArgumentException e) {}
+					} else if (line.startsWith("# yggdrasil version:")) {
+						try {
+							final short v = Short.parseShort(line.substring("# yggdrasil version:".length()).trim());
+							if (v <= 0 || v > Variables.YGGDRASIL_VERSION)
+								throw new IOException("The variables were saved with a newer version of Skript (Yggdrasil version " + v + ")");
+							yggdrasilVersion = v;
+						} catch (final NumberFormatException e) {}
 					}
 					continue;
 				}
@@ -132,7 +145,7 @@ public class FlatFileStorage extends VariablesStorage {
 					if (update2_1)
 						d = Classes.deserialize("" + split[1], "" + split[2]);
 					else
-						d = Classes.deserialize("" + split[1], decode("" + split[2]));
+						d = Classes.deserialize("" + split[1], decode("" + split[2]), yggdrasilVersion);
 					if (d == null) {
 						if (invalid.length() != 0)
 							invalid.append(", ");
@@ -207,6 +220,29 @@ public class FlatFileStorage extends VariablesStorage {
 	@Override
 	protected void allLoaded() {
 		// no transaction support
+		
+		// changes are appended to the file, thus they must use the same version as the file
+		if (yggdrasilVersion != Variables.getValueVersion()) {
+			final File file = this.file;
+			if (file != null && file.exists()) {
+				try {
+					final File bu = FileUtils.backup(file);
+					Skript.info("Created a backup of " + file.getName() + " as " + bu.getName() + " before saving it in a different format");
+				} catch (final IOException e) {
+					Skript.error("Could not backup " + file.getName() + ": " + e.getMessage());
+				}
+			}
+			Skript.debug("Rewriting " + databaseName + " with Yggdrasil version " + Variables.getValueVersion());
+			saveVariables(false);
+		}
+	}
+	
+	/**
+	 * Older versions of Skript cannot read files saved with a later Yggdrasil version, thus it is only used if enabled in the config.
+	 */
+	@Override
+	protected short getYggdrasilVersion() {
+		return SkriptConfig.compactVariablesFile.value() ? Variables.YGGDRASIL_VERSION : 1;
 	}
 	
 	@Override
@@ -377,17 +413,25 @@ public class FlatFileStorage extends VariablesStorage {
 					File tempFile = new File(file.getParentFile(), file.getName() + ".temp");
 					PrintWriter pw = null;
 					try {
+						final short version = Variables.getValueVersion();
 						pw = new PrintWriter(tempFile, "UTF-8");
 						pw.println("# === Skript's variable storage ===");
 						pw.println("# Please do not modify this file manually!");
 						pw.println("#");
 						pw.println("# version: " + Skript.getVersion());
+						pw.println("# yggdrasil version: " + version);
 						pw.println();
-						save(pw, "", Variables.getVariables());
+						save(pw, "", Variables.getVariables(), version);
 						pw.println();
 						pw.flush();
 						pw.close();
 						FileUtils.move(tempFile, f, true);
+						yggdrasilVersion = version;
+						if (Skript.logVeryHigh()) {
+							final SerializedValueCache cache = Classes.getSerializedValueCache();
+							Skript.info("Saved all variables of the database '" + databaseName + "' (serialized value cache: " + cache.size() + " values, "
+									+ Math.round(cache.getHitRate() * 100) + "% hit rate)");
+						}
 					} catch (final IOException e) {
 						Skript.error("Unable to make a final save of the database '" + databaseName + "' (no variables are lost): " + ExceptionUtils.toString(e)); // FIXME happens at random - check locks/threads
 					} finally {
@@ -421,21 +465,22 @@ public class FlatFileStorage extends VariablesStorage {
 	 * @param pw
 	 * @param parent The parent's name with {@link Variable#SEPARATOR} at the end
 	 * @param map
+	 * @param version The Yggdrasil version to serialise the values with
 	 */
 	@SuppressWarnings("unchecked")
-	private final void save(final PrintWriter pw, final String parent, final TreeMap<String, Object> map) {
+	private final void save(final PrintWriter pw, final String parent, final TreeMap<String, Object> map, final short version) {
 		outer: for (final Entry<String, Object> e : map.entrySet()) {
 			final Object val = e.getValue();
 			if (val == null)
 				continue;
 			if (val instanceof TreeMap) {
-				save(pw, parent + e.getKey() + Variable.SEPARATOR, (TreeMap<String, Object>) val);
+				save(pw, parent + e.getKey() + Variable.SEPARATOR, (TreeMap<String, Object>) val, version);
 			} else {
 				final String name = (e.getKey() == null ? parent.substring(0, parent.length() - Variable.SEPARATOR.length()) : parent + e.getKey());
 				for (final VariablesStorage s : Variables.storages) {
 					if (s.accept(name)) {
 						if (s == this) {
-							final SerializedVariable.Value value = Classes.serialize(val);
+							final SerializedVariable.Value value = Classes.serialize(val, version);
 							if (value != null)
 								writeCSV(pw, name, value.type, encode(value.data));
 						}
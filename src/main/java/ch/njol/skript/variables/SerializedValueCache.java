@@ -0,0 +1,119 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.skript.variables;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.Nullable;
+
+import ch.njol.skript.classes.ClassInfo;
+import ch.njol.skript.registrations.Classes;
+import ch.njol.skript.variables.SerializedVariable.Value;
+import ch.njol.yggdrasil.Yggdrasil;
+
+/**
+ * A bounded cache of the serialised forms of values of immutable types (see {@link ClassInfo#isImmutable()}), as the same texts, timespans, enum constants etc.
+ * are often saved in many variables. Used by {@link Classes#serialize(Object, short)}.
+ * <p>
+ * The cached {@link Value}s are shared and must not be modified.
+ */
+public final class SerializedValueCache {
+
+	/**
+	 * Maximum number of values cached per Yggdrasil version
+	 */
+	private final static int MAX_ENTRIES = 4096;
+
+	/**
+	 * Values whose serialised form is larger than this are not cached
+	 */
+	private final static int MAX_VALUE_SIZE = 1024;
+
+	/**
+	 * One LRU map per Yggdrasil version, indexed by version
+	 */
+	private final Map<Object, Value>[] caches;
+
+	private long hits = 0, misses = 0;
+
+	@SuppressWarnings("unchecked")
+	public SerializedValueCache() {
+		caches = new Map[Yggdrasil.LATEST_VERSION + 1];
+		for (int i = 0; i < caches.length; i++) {
+			caches[i] = new LinkedHashMap<Object, Value>(16, 0.75f, true) {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected boolean removeEldestEntry(final Map.Entry<Object, Value> eldest) {
+					return size() > MAX_ENTRIES;
+				}
+			};
+		}
+	}
+
+	/**
+	 * @param o A value of an immutable type
+	 * @param version The Yggdrasil version the value is serialised with
+	 * @return The cached serialised form of the value, or null if it is not cached
+	 */
+	@Nullable
+	public synchronized Value get(final Object o, final short version) {
+		final Value v = caches[version].get(o);
+		if (v != null)
+			hits++;
+		else
+			misses++;
+		return v;
+	}
+
+	public synchronized void put(final Object o, final short version, final Value value) {
+		if (value.data.length <= MAX_VALUE_SIZE)
+			caches[version].put(o, value);
+	}
+
+	public synchronized void clear() {
+		for (final Map<Object, Value> cache : caches)
+			cache.clear();
+	}
+
+	public synchronized int size() {
+		int size = 0;
+		for (final Map<Object, Value> cache : caches)
+			size += cache.size();
+		return size;
+	}
+
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	/**
+	 * @return The ratio of lookups which found a cached value, between 0 and 1
+	 */
+	public synchronized double getHitRate() {
+		final long lookups = hits + misses;
+		return lookups == 0 ? 0 : (double) hits / lookups;
+	}
+
+}
@@ -34,7 +34,6 @@ import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
-import java.util.regex.Pattern;
 
 import ch.njol.skript.log.SkriptLogger;
 import org.bukkit.Bukkit;
@@ -69,9 +68,21 @@ import ch.njol.yggdrasil.Yggdrasil;
 public abstract class Variables {
 	private Variables() {}
 	
-	public final static short YGGDRASIL_VERSION = 1;
+	public final static short YGGDRASIL_VERSION = 2;
 	
 	public final static Yggdrasil yggdrasil = new Yggdrasil(YGGDRASIL_VERSION);
+	
+	/**
+	 * The Yggdrasil version values are serialised with. This is the latest version supported by all loaded storages, see {@link VariablesStorage#getYggdrasilVersion()}.
+	 */
+	private static volatile short valueVersion = YGGDRASIL_VERSION;
+	
+	/**
+	 * @return The Yggdrasil version {@link Classes#serialize(Object)} uses for the values it serialises.
+	 */
+	public static short getValueVersion() {
+		return valueVersion;
+	}
 
 	public static boolean caseInsensitiveVariables = true;
 	
@@ -217,12 +228,18 @@ public abstract class Variables {
 			}
 		} finally {
 			SkriptLogger.setNode(null);
+			
+			// values must be readable by every storage they may be moved to
+			for (final VariablesStorage s : storages)
+				valueVersion = (short) Math.min(valueVersion, s.getYggdrasilVersion());
 
 			// make sure to put the loaded variables into the variables map
 			final int n = onStoragesLoaded();
 			if (n != 0) {
 				Skript.warning(n + " variables were possibly discarded due to not belonging to any database (SQL databases keep such variables and will continue to generate this warning, while CSV discards them).");
 			}
+			if (Skript.logVeryHigh())
+				Skript.info("Variables: " + getNameSegmentStatistics());
 			
 			loadingLoggerThread.interrupt();
 			
@@ -231,12 +248,24 @@ public abstract class Variables {
 		return true;
 	}
 	
-	@SuppressWarnings("null")
-	private final static Pattern variableNameSplitPattern = Pattern.compile(Pattern.quote(Variable.SEPARATOR));
-	
-	@SuppressWarnings("null")
+	/**
+	 * Splits a variable name at {@link Variable#SEPARATOR}. Like {@link String#split(String)}, trailing empty segments are removed.
+	 */
 	public static String[] splitVariableName(final String name) {
-		return variableNameSplitPattern.split(name);
+		int i = name.indexOf(Variable.SEPARATOR);
+		if (i == -1)
+			return new String[] {name};
+		final List<String> split = new ArrayList<>();
+		int start = 0;
+		do {
+			split.add(name.substring(start, i));
+			start = i + Variable.SEPARATOR.length();
+		} while ((i = name.indexOf(Variable.SEPARATOR, start)) != -1);
+		split.add(name.substring(start));
+		int size = split.size();
+		while (size > 0 && split.get(size - 1).isEmpty())
+			size--;
+		return split.subList(0, size).toArray(new String[size]);
 	}
 	
 	final static ReadWriteLock variablesLock = new ReentrantReadWriteLock(true);
@@ -304,6 +333,18 @@ public abstract class Variables {
 		return Collections.unmodifiableMap(variables.hashMap);
 	}
 	
+	/**
+	 * Measures the memory used by the name segments of all global list variables.
+	 */
+	static VariablesMap.NameSegmentStatistics getNameSegmentStatistics() {
+		try {
+			variablesLock.readLock().lock();
+			return variables.getNameSegmentStatistics();
+		} finally {
+			variablesLock.readLock().unlock();
+		}
+	}
+	
 	@SuppressWarnings("null")
 	static Lock getReadLock() {
 		return variablesLock.readLock();
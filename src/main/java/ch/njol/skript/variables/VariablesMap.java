@@ -20,12 +20,17 @@ package ch.njol.skript.variables;
 
 import ch.njol.skript.lang.Variable;
 import ch.njol.util.StringUtils;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
 import org.eclipse.jdt.annotation.Nullable;
 
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.TreeMap;
 
 final class VariablesMap {
@@ -39,6 +44,16 @@ final class VariablesMap {
 			if (s2 == null)
 				return 1;
 
+			if (s1 == s2) // list keys are interned, so this is common
+				return 0;
+
+			// Fast path for numeric list indices, which natural order compares by length, then digit by digit
+			if (isPlainNumber(s1) && isPlainNumber(s2)) {
+				if (s1.length() != s2.length())
+					return s1.length() - s2.length();
+				return s1.compareTo(s2);
+			}
+
 			int i = 0;
 			int j = 0;
 
@@ -133,8 +148,29 @@ final class VariablesMap {
 				return lastNumberNegative ? 1 : -1;
 			return 0;
 		}
+
+		/**
+		 * @return Whether the given string consists of digits only, without leading zeroes
+		 */
+		private boolean isPlainNumber(String s) {
+			int length = s.length();
+			if (length == 0 || (s.charAt(0) == '0' && length != 1))
+				return false;
+			for (int i = 0; i < length; i++) {
+				char c = s.charAt(i);
+				if (c < '0' || c > '9')
+					return false;
+			}
+			return true;
+		}
 	};
 
+	/**
+	 * Shared by all maps, so that segments which appear in many variable names (e.g. player UUIDs or the 'kills' in {stats::%uuid%::kills})
+	 * are only kept in memory once. Weak, so segments of deleted variables can still be garbage collected.
+	 */
+	private final static Interner<String> nameSegments = Interners.newWeakInterner();
+
 	final HashMap<String, Object> hashMap = new HashMap<>();
 	final TreeMap<String, Object> treeMap = new TreeMap<>();
 	
@@ -197,10 +233,10 @@ final class VariablesMap {
 			if (current == null) {
 				if (i == split.length - 1) {
 					if (value != null)
-						parent.put(n, value);
+						parent.put(nameSegments.intern(n), value);
 					break;
 				} else if (value != null) {
-					parent.put(n, current = new TreeMap<>(variableNameComparator));
+					parent.put(nameSegments.intern(n), current = new TreeMap<>(variableNameComparator));
 					parent = (TreeMap<String, Object>) current;
 					continue;
 				} else {
@@ -259,4 +295,73 @@ final class VariablesMap {
 		}
 	}
 	
+	/**
+	 * Measures the memory used by the name segments of this map's list variable tree.
+	 * Must be called while holding the lock protecting this map, if any.
+	 */
+	NameSegmentStatistics getNameSegmentStatistics() {
+		NameSegmentStatistics stats = new NameSegmentStatistics();
+		collectNameSegmentStatistics(treeMap, Collections.newSetFromMap(new IdentityHashMap<>()), stats);
+		return stats;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static void collectNameSegmentStatistics(TreeMap<String, Object> current, Set<String> seen, NameSegmentStatistics stats) {
+		for (Entry<String, Object> e : current.entrySet()) {
+			String key = e.getKey();
+			if (key != null) {
+				long size = NameSegmentStatistics.estimateSize(key);
+				stats.segments++;
+				stats.unsharedBytes += size;
+				if (seen.add(key)) {
+					stats.distinctSegments++;
+					stats.bytes += size;
+				}
+			}
+			if (e.getValue() instanceof TreeMap)
+				collectNameSegmentStatistics((TreeMap<String, Object>) e.getValue(), seen, stats);
+		}
+	}
+
+	/**
+	 * Memory used by the name segments of list variables, i.e. by the keys of {@link VariablesMap#treeMap} and its sub-maps.
+	 */
+	static final class NameSegmentStatistics {
+
+		/**
+		 * Number of keys in the list variable tree
+		 */
+		int segments;
+
+		/**
+		 * Number of distinct String instances used as keys
+		 */
+		int distinctSegments;
+
+		/**
+		 * Estimated heap size of the distinct key Strings, in bytes
+		 */
+		long bytes;
+
+		/**
+		 * Estimated heap size the keys would need if no two of them shared a String instance, in bytes
+		 */
+		long unsharedBytes;
+
+		NameSegmentStatistics() {}
+
+		/**
+		 * Estimates the heap size of a String and its character array, assuming a 64-bit JVM with compressed references.
+		 */
+		static long estimateSize(String s) {
+			return 24 + ((16 + 2L * s.length() + 7) & ~7);
+		}
+
+		@Override
+		public String toString() {
+			return segments + " name segments using " + distinctSegments + " distinct strings, ~" + (bytes >> 10) + " KiB (~" + (unsharedBytes >> 10) + " KiB without sharing)";
+		}
+
+	}
+
 }
@@ -183,6 +183,14 @@ public abstract class VariablesStorage implements Closeable {
 	 */
 	protected abstract void allLoaded();
 	
+	/**
+	 * @return The latest Yggdrasil version values saved to this storage may be serialised with. Values are saved without any version information, thus storages must
+	 *         record the version themselves if they support more than one.
+	 */
+	protected short getYggdrasilVersion() {
+		return Variables.YGGDRASIL_VERSION;
+	}
+	
 	protected abstract boolean requiresFile();
 	
 	protected abstract File getFile(String file);
@@ -0,0 +1,180 @@
+/**
+ *   This file is part of Skript.
+ *
+ *  Skript is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  Skript is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with Skript.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright Peter Güttinger, SkriptLang team and contributors
+ */
+package ch.njol.util.coll;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * A table of values by name, where the case of the names does not matter. Unlike a map keyed by lower case names,
+ * looking up a name does not need to convert it to lower case first, and can look up a part of a string without taking a substring of it.
+ * <p>
+ * Characters are compared by their {@link Character#toLowerCase(char) lower case}, i.e. like names converted with
+ * <tt>toLowerCase(Locale.ENGLISH)</tt>, except for the few characters which change their length when converted.
+ * <p>
+ * Like {@link java.util.HashMap}, this is not thread-safe. Tables which are replaced as a whole are best filled before they are published.
+ */
+public final class CaseInsensitiveLookup<V> {
+	
+	private final static int MIN_CAPACITY = 16;
+	
+	/**
+	 * The names in lower case, using open addressing with linear probing. The table is always at most half full.
+	 */
+	private String[] names = new String[MIN_CAPACITY];
+	private int[] hashes = new int[MIN_CAPACITY];
+	private Object[] values = new Object[MIN_CAPACITY];
+	private int size = 0;
+	
+	private final static char[] LATIN_1 = new char[256];
+	static {
+		for (char c = 0; c < LATIN_1.length; c++)
+			LATIN_1[c] = Character.toLowerCase(c);
+	}
+	
+	private static char fold(final char c) {
+		return c < LATIN_1.length ? LATIN_1[c] : Character.toLowerCase(c);
+	}
+	
+	private static int hash(final CharSequence s, final int start, final int end) {
+		int h = 0;
+		for (int i = start; i < end; i++)
+			h = 31 * h + fold(s.charAt(i));
+		return h ^ (h >>> 16);
+	}
+	
+	/**
+	 * Adds a name, replacing the value of an equal name if one exists.
+	 * 
+	 * @param name The name, in any case
+	 * @param value The value
+	 * @return The previous value of the name, or null if there was none
+	 */
+	@Nullable
+	public V put(final String name, final V value) {
+		final char[] lc = new char[name.length()];
+		for (int i = 0; i < lc.length; i++)
+			lc[i] = fold(name.charAt(i));
+		final String key = new String(lc);
+		final int h = hash(key, 0, key.length());
+		
+		int i = h & (names.length - 1);
+		for (String n; (n = names[i]) != null; i = (i + 1) & (names.length - 1)) {
+			if (hashes[i] == h && n.equals(key)) {
+				@SuppressWarnings("unchecked")
+				final V old = (V) values[i];
+				values[i] = value;
+				return old;
+			}
+		}
+		names[i] = key;
+		hashes[i] = h;
+		values[i] = value;
+		if (++size * 2 > names.length)
+			resize(names.length * 2);
+		return null;
+	}
+	
+	private void resize(final int capacity) {
+		final String[] oldNames = names;
+		final int[] oldHashes = hashes;
+		final Object[] oldValues = values;
+		names = new String[capacity];
+		hashes = new int[capacity];
+		values = new Object[capacity];
+		for (int j = 0; j < oldNames.length; j++) {
+			if (oldNames[j] == null)
+				continue;
+			int i = oldHashes[j] & (capacity - 1);
+			while (names[i] != null)
+				i = (i + 1) & (capacity - 1);
+			names[i] = oldNames[j];
+			hashes[i] = oldHashes[j];
+			values[i] = oldValues[j];
+		}
+	}
+	
+	/**
+	 * @param name The name, in any case
+	 * @return The value of the name, or null if it does not exist
+	 */
+	@Nullable
+	public V get(final CharSequence name) {
+		return get(name, 0, name.length());
+	}
+	
+	/**
+	 * Looks up the name <tt>name.subSequence(start, end)</tt> without creating it.
+	 * 
+	 * @param name A string containing the name, in any case
+	 * @param start The index of the first character of the name
+	 * @param end The index after the last character of the name
+	 * @return The value of the name, or null if it does not exist
+	 */
+	@SuppressWarnings("unchecked")
+	@Nullable
+	public V get(final CharSequence name, final int start, final int end) {
+		final int h = hash(name, start, end);
+		final String[] names = this.names;
+		for (int i = h & (names.length - 1); names[i] != null; i = (i + 1) & (names.length - 1)) {
+			if (hashes[i] == h && matches(names[i], name, start, end))
+				return (V) values[i];
+		}
+		return null;
+	}
+	
+	private static boolean matches(final String lc, final CharSequence name, final int start, final int end) {
+		if (lc.length() != end - start)
+			return false;
+		for (int i = 0; i < lc.length(); i++) {
+			if (lc.charAt(i) != fold(name.charAt(start + i)))
+				return false;
+		}
+		return true;
+	}
+	
+	public int size() {
+		return size;
+	}
+	
+	/**
+	 * @return The values of all names, with values of several names included several times
+	 */
+	@SuppressWarnings("unchecked")
+	public Collection<V> values() {
+		final List<V> values = new ArrayList<>(size);
+		for (int i = 0; i < names.length; i++) {
+			if (names[i] != null)
+				values.add((V) this.values[i]);
+		}
+		return Collections.unmodifiableList(values);
+	}
+	
+	public void clear() {
+		names = new String[MIN_CAPACITY];
+		hashes = new int[MIN_CAPACITY];
+		values = new Object[MIN_CAPACITY];
+		size = 0;
+	}
+	
+}
@@ -19,7 +19,10 @@
 package ch.njol.yggdrasil;
 
 import static ch.njol.yggdrasil.Tag.T_ARRAY;
+import static ch.njol.yggdrasil.Tag.T_ENUM;
+import static ch.njol.yggdrasil.Tag.T_OBJECT;
 import static ch.njol.yggdrasil.Tag.T_REFERENCE;
+import static ch.njol.yggdrasil.Tag.getType;
 
 import java.io.EOFException;
 import java.io.IOException;
@@ -31,6 +34,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
 
 //Naming conventions:
 // x(): read info & data (e.g. content type, contents) [i.e. no tag]
@@ -45,9 +49,21 @@ public final class DefaultYggdrasilInputStream extends YggdrasilInputStream {
 	
 	final InputStream in;
 	
+	/**
+	 * The type of the single value read by this stream, or null if this stream reads a header and any number of objects.
+	 */
+	@Nullable
+	private final Class<?> valueType;
+	
+	/**
+	 * Whether the tag and the class ID of the root object are yet to be implied, see {@link Yggdrasil#newValueInputStream(InputStream, Class, short)}
+	 */
+	private boolean impliedRootTag, impliedRootType;
+	
 	public DefaultYggdrasilInputStream(final Yggdrasil y, final InputStream in) throws IOException {
 		super(y);
 		this.in = in;
+		valueType = null;
 		final int m = readInt();
 		if (m != Yggdrasil.MAGIC_NUMBER)
 			throw new StreamCorruptedException("Not an Yggdrasil stream");
@@ -56,12 +72,33 @@ public final class DefaultYggdrasilInputStream extends YggdrasilInputStream {
 			throw new StreamCorruptedException("Input was saved using a later version of Yggdrasil");
 	}
 	
+	/**
+	 * Creates a stream that reads a single value of the given type without any header.
+	 */
+	DefaultYggdrasilInputStream(final Yggdrasil y, final InputStream in, final Class<?> valueType, final short version) {
+		super(y);
+		if (version <= 0 || version > Yggdrasil.LATEST_VERSION)
+			throw new YggdrasilException("Unsupported version number");
+		this.in = in;
+		this.version = version;
+		this.valueType = valueType;
+		impliedRootTag = true;
+	}
+	
 	// private
 	
+	/**
+	 * Bytes which have been read ahead and are to be read again, see {@link #readRootTypeOrClass()}
+	 */
+	private final byte[] readAhead = new byte[5];
+	private int readAheadStart = 0, readAheadEnd = 0;
+	
 	/**
 	 * @throws EOFException If the end of the stream is reached
 	 */
 	private int read() throws IOException {
+		if (readAheadStart < readAheadEnd)
+			return readAhead[readAheadStart++] & 0xFF;
 		final int b = in.read();
 		if (b < 0)
 			throw new EOFException();
@@ -74,6 +111,10 @@ public final class DefaultYggdrasilInputStream extends YggdrasilInputStream {
 	
 	private void readFully(final byte[] buf, int off, final int len) throws IOException {
 		int l = len;
+		while (l > 0 && readAheadStart < readAheadEnd) {
+			buf[off++] = readAhead[readAheadStart++];
+			l--;
+		}
 		while (l > 0) {
 			final int n = in.read(buf, off, l);
 			if (n < 0)
@@ -85,7 +126,65 @@ public final class DefaultYggdrasilInputStream extends YggdrasilInputStream {
 	
 	private final List<String> readShortStrings = new ArrayList<>();
 	
+	/**
+	 * Reads the class ID of the root object, unless it is implied by the value type of this stream.
+	 * See DefaultYggdrasilOutputStream#writeRootTypeOrShortString(String) for how an explicit class ID is told apart from an implied one.
+	 */
+	private Class<?> readRootTypeOrClass() throws IOException {
+		if (impliedRootType) {
+			impliedRootType = false;
+			final Class<?> valueType = this.valueType;
+			assert valueType != null;
+			if (version >= 2) {
+				final int h = readVarInt();
+				if (h != 0)
+					return yggdrasil.getClass(readShortString2(h));
+			} else {
+				final int b = read();
+				if (b == (T_REFERENCE.tag & 0xFF)) {
+					final int i = readInt();
+					if (i == -1)
+						return yggdrasil.getClass(readShortString());
+					readAhead(b, i);
+				} else {
+					readAhead(b);
+				}
+			}
+			// the writer registered the implied ID as if it was written
+			final String id = yggdrasil.getID(valueType);
+			if (isReferenceable(id.getBytes(UTF_8)))
+				readShortStrings.add(id);
+			return valueType;
+		}
+		return yggdrasil.getClass(readShortString());
+	}
+	
+	private void readAhead(final int b) {
+		readAheadStart = 0;
+		readAheadEnd = 1;
+		readAhead[0] = (byte) b;
+	}
+	
+	private void readAhead(final int b, final int i) {
+		readAheadStart = 0;
+		readAheadEnd = 5;
+		readAhead[0] = (byte) b;
+		readAhead[1] = (byte) (i >>> 24);
+		readAhead[2] = (byte) (i >>> 16);
+		readAhead[3] = (byte) (i >>> 8);
+		readAhead[4] = (byte) i;
+	}
+	
+	/**
+	 * Version 1 only stores short strings longer than 4 bytes, later versions store all of them.
+	 */
+	private boolean isReferenceable(final byte[] d) {
+		return version > 1 || d.length > 4;
+	}
+	
 	private String readShortString() throws IOException {
+		if (version >= 2)
+			return readShortString2();
 		final int length = read();
 		if (length == (T_REFERENCE.tag & 0xFF)) {
 			final int i = version <= 1 ? readInt() : readUnsignedInt();
@@ -96,15 +195,39 @@ public final class DefaultYggdrasilInputStream extends YggdrasilInputStream {
 		final byte[] d = new byte[length];
 		readFully(d);
 		final String s = new String(d, UTF_8);
-		if (length > 4)
+		if (isReferenceable(d))
 			readShortStrings.add(s);
 		return s;
 	}
 	
+	private String readShortString2() throws IOException {
+		return readShortString2(readVarInt());
+	}
+	
+	private String readShortString2(final int h) throws IOException {
+		if ((h & 1) != 0) {
+			final int i = h >>> 1;
+			if (i >= readShortStrings.size())
+				throw new StreamCorruptedException("Invalid short string reference " + i);
+			return "" + readShortStrings.get(i);
+		}
+		final byte[] d = new byte[h >>> 1];
+		readFully(d);
+		final String s = new String(d, UTF_8);
+		readShortStrings.add(s);
+		return s;
+	}
+	
 	// Tag
 	
 	@Override
 	protected Tag readTag() throws IOException {
+		if (impliedRootTag) {
+			impliedRootTag = false;
+			final Tag tag = getType(valueType);
+			impliedRootType = tag == T_OBJECT || tag == T_ENUM;
+			return tag;
+		}
 		final int t = read();
 		final Tag tag = Tag.byID(t);
 		if (tag == null)
@@ -123,6 +246,12 @@ public final class DefaultYggdrasilInputStream extends YggdrasilInputStream {
 	}
 	
 	private short readUnsignedShort() throws IOException {
+		if (version >= 2) {
+			final int s = readVarInt();
+			if (s > Short.MAX_VALUE)
+				throw new StreamCorruptedException("Invalid unsigned short " + s);
+			return (short) s;
+		}
 		final int b = read();
 		if ((b & 0x80) != 0)
 			return (short) (b & ~0x80);
@@ -137,6 +266,8 @@ public final class DefaultYggdrasilInputStream extends YggdrasilInputStream {
 	}
 	
 	private int readUnsignedInt() throws IOException {
+		if (version >= 2)
+			return readVarInt();
 		final int b = read();
 		if ((b & 0x80) != 0)
 			return (b & ~0x80) << 8 | read();
@@ -154,6 +285,29 @@ public final class DefaultYggdrasilInputStream extends YggdrasilInputStream {
 				| read();
 	}
 	
+	private int readVarInt() throws IOException {
+		final long l = readVarLong();
+		if (l > Integer.MAX_VALUE)
+			throw new StreamCorruptedException("Invalid unsigned int " + l);
+		return (int) l;
+	}
+	
+	private long readVarLong() throws IOException {
+		long l = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			final int b = read();
+			l |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0)
+				return l;
+		}
+		throw new StreamCorruptedException("Varint too long");
+	}
+	
+	private long readZigZagLong() throws IOException {
+		final long l = readVarLong();
+		return l >>> 1 ^ -(l & 1);
+	}
+	
 	private float readFloat() throws IOException {
 		return Float.intBitsToFloat(readInt());
 	}
@@ -181,11 +335,11 @@ public final class DefaultYggdrasilInputStream extends YggdrasilInputStream {
 			case T_BYTE:
 				return readByte();
 			case T_SHORT:
-				return readShort();
+				return version >= 2 ? (short) readZigZagLong() : readShort();
 			case T_INT:
-				return readInt();
+				return version >= 2 ? (int) readZigZagLong() : readInt();
 			case T_LONG:
-				return readLong();
+				return version >= 2 ? readZigZagLong() : readLong();
 			case T_FLOAT:
 				return readFloat();
 			case T_DOUBLE:
@@ -231,7 +385,7 @@ public final class DefaultYggdrasilInputStream extends YggdrasilInputStream {
 	
 	@Override
 	protected Class<?> readEnumType() throws IOException {
-		return yggdrasil.getClass(readShortString());
+		return readRootTypeOrClass();
 	}
 	
 	@Override
@@ -299,7 +453,7 @@ public final class DefaultYggdrasilInputStream extends YggdrasilInputStream {
 	
 	@Override
 	protected Class<?> readObjectType() throws IOException {
-		return yggdrasil.getClass(readShortString());
+		return readRootTypeOrClass();
 	}
 	
 	@Override
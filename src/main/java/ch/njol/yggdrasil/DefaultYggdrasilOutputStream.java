@@ -19,15 +19,20 @@
 package ch.njol.yggdrasil;
 
 import static ch.njol.yggdrasil.Tag.T_ARRAY;
+import static ch.njol.yggdrasil.Tag.T_ENUM;
+import static ch.njol.yggdrasil.Tag.T_OBJECT;
 import static ch.njol.yggdrasil.Tag.T_REFERENCE;
 import static ch.njol.yggdrasil.Tag.getPrimitiveFromWrapper;
 import static ch.njol.yggdrasil.Tag.getType;
 
 import java.io.IOException;
+import java.io.NotSerializableException;
 import java.io.OutputStream;
 import java.nio.charset.Charset;
 import java.util.HashMap;
 
+import org.eclipse.jdt.annotation.Nullable;
+
 public final class DefaultYggdrasilOutputStream extends YggdrasilOutputStream {
 	
 	private final static Charset UTF_8 = Charset.forName("UTF-8");
@@ -36,14 +41,56 @@ public final class DefaultYggdrasilOutputStream extends YggdrasilOutputStream {
 	
 	private final short version;
 	
+	/**
+	 * The type of the single value written by this stream, or null if this stream writes a header and any number of objects.
+	 */
+	@Nullable
+	private Class<?> valueType;
+	
+	/**
+	 * Whether the tag and the class ID of the root object are yet to be omitted, see {@link Yggdrasil#newValueOutputStream(OutputStream, Class, short)}
+	 */
+	private boolean omitRootTag, omitRootType;
+	
 	public DefaultYggdrasilOutputStream(final Yggdrasil y, final OutputStream out) throws IOException {
 		super(y);
 		this.out = out;
 		version = y.version;
+		valueType = null;
 		writeInt(Yggdrasil.MAGIC_NUMBER);
 		writeShort(version);
 	}
 	
+	/**
+	 * Creates a stream that writes a single value of the given type without any header.
+	 */
+	DefaultYggdrasilOutputStream(final Yggdrasil y, final OutputStream out, final Class<?> valueType, final short version) {
+		super(y);
+		if (version <= 0 || version > Yggdrasil.LATEST_VERSION)
+			throw new YggdrasilException("Unsupported version number");
+		this.out = out;
+		this.version = version;
+		this.valueType = valueType;
+		omitRootTag = true;
+	}
+	
+	/**
+	 * Prepares this stream to write another value as if it was a new stream created by {@link Yggdrasil#newValueOutputStream(OutputStream, Class, short)}, which allows to
+	 * reuse value streams (and the stream they write to) when writing many values.
+	 * 
+	 * @param valueType The type of the next value
+	 */
+	public void reuse(final Class<?> valueType) {
+		if (this.valueType == null)
+			throw new IllegalStateException("Only value streams can be reused");
+		reset();
+		writtenShortStrings.clear();
+		nextShortStringID = 0;
+		this.valueType = valueType;
+		omitRootTag = true;
+		omitRootType = false;
+	}
+	
 	// private
 	
 	private void write(final int b) throws IOException {
@@ -52,16 +99,64 @@ public final class DefaultYggdrasilOutputStream extends YggdrasilOutputStream {
 	
 	@Override
 	protected void writeTag(final Tag t) throws IOException {
+		if (omitRootTag) {
+			omitRootTag = false;
+			final Class<?> valueType = this.valueType;
+			assert valueType != null;
+			if (t != getType(valueType))
+				throw new NotSerializableException("Expected a value of " + valueType + ", but got " + t);
+			omitRootType = t == T_OBJECT || t == T_ENUM;
+			return;
+		}
 		out.write(t.tag);
 	}
 	
 	private final HashMap<String, Integer> writtenShortStrings = new HashMap<>();
 	int nextShortStringID = 0;
 	
+	/**
+	 * Writes the class ID of the root object, unless it is implied by the value type of this stream.
+	 * <p>
+	 * If the object's class has a different ID than the value type (e.g. a subclass with its own ID), its ID is written after a marker which cannot occur at this position otherwise:
+	 * in version 1, a reference to the short string -1, as values of this version have been stored without any marker when the ID is implied;
+	 * in later versions, the implied ID is written as an empty short string instead.
+	 */
+	private void writeRootTypeOrShortString(final String s) throws IOException {
+		if (omitRootType) {
+			omitRootType = false;
+			final Class<?> valueType = this.valueType;
+			assert valueType != null;
+			if (s.equals(yggdrasil.getIDNoError(valueType))) {
+				if (version >= 2)
+					writeVarInt(0);
+				// the reader registers the implied ID as if it was read
+				if (!writtenShortStrings.containsKey(s) && isReferenceable(s.getBytes(UTF_8)))
+					writtenShortStrings.put(s, nextShortStringID++);
+				return;
+			}
+			if (version <= 1) {
+				write(T_REFERENCE.tag & 0xFF);
+				writeInt(-1);
+			}
+		}
+		writeShortString(s);
+	}
+	
+	/**
+	 * Version 1 only stores short strings longer than 4 bytes, later versions store all of them.
+	 */
+	private boolean isReferenceable(final byte[] d) {
+		return version > 1 || d.length > 4;
+	}
+	
 	/**
 	 * Writes a class ID or Field name
 	 */
 	private void writeShortString(final String s) throws IOException {
+		if (version >= 2) {
+			writeShortString2(s);
+			return;
+		}
 		if (writtenShortStrings.containsKey(s)) {
 			writeTag(T_REFERENCE);
 			if (version <= 1)
@@ -76,11 +171,30 @@ public final class DefaultYggdrasilOutputStream extends YggdrasilOutputStream {
 				throw new YggdrasilException("Field name or Class ID too long: " + s);
 			write(d.length);
 			out.write(d);
-			if (d.length > 4)
+			if (isReferenceable(d))
 				writtenShortStrings.put(s, nextShortStringID++);
 		}
 	}
 	
+	/**
+	 * Writes a short string in the format of version 2: a varint whose lowest bit tells whether it is a reference to a previous short string or the length of a new one.
+	 */
+	private void writeShortString2(final String s) throws IOException {
+		final Integer ref = writtenShortStrings.get(s);
+		if (ref != null) {
+			writeVarInt(ref << 1 | 1);
+			return;
+		}
+		if (nextShortStringID < 0)
+			throw new YggdrasilException("Too many field names/class IDs (max: " + Integer.MAX_VALUE + ")");
+		final byte[] d = s.getBytes(UTF_8);
+		if (d.length > Integer.MAX_VALUE >>> 1)
+			throw new YggdrasilException("Field name or Class ID too long: " + s);
+		writeVarInt(d.length << 1);
+		out.write(d);
+		writtenShortStrings.put(s, nextShortStringID++);
+	}
+	
 	// Primitives
 	
 	private void writeByte(final byte b) throws IOException {
@@ -94,7 +208,9 @@ public final class DefaultYggdrasilOutputStream extends YggdrasilOutputStream {
 	
 	private void writeUnsignedShort(final short s) throws IOException {
 		assert s >= 0;
-		if (s <= 0x7f)
+		if (version >= 2)
+			writeVarInt(s);
+		else if (s <= 0x7f)
 			writeByte((byte) (0x80 | s));
 		else
 			writeShort(s);
@@ -109,7 +225,9 @@ public final class DefaultYggdrasilOutputStream extends YggdrasilOutputStream {
 	
 	private void writeUnsignedInt(final int i) throws IOException {
 		assert i >= 0;
-		if (i <= 0x7FFF)
+		if (version >= 2)
+			writeVarInt(i);
+		else if (i <= 0x7FFF)
 			writeShort((short) (0x8000 | i));
 		else
 			writeInt(i);
@@ -126,6 +244,28 @@ public final class DefaultYggdrasilOutputStream extends YggdrasilOutputStream {
 		write((int) (l & 0xFF));
 	}
 	
+	/**
+	 * Writes an unsigned integer using 7 bits per byte, least significant group first. The highest bit of each byte is set if more bytes follow.
+	 */
+	private void writeVarInt(final int i) throws IOException {
+		writeVarLong(i & 0xFFFFFFFFL);
+	}
+	
+	private void writeVarLong(long l) throws IOException {
+		while ((l & ~0x7FL) != 0) {
+			write((int) (l & 0x7F) | 0x80);
+			l >>>= 7;
+		}
+		write((int) l);
+	}
+	
+	/**
+	 * Writes a signed integer as a varint, mapping values of small magnitude to small unsigned values (0, -1, 1, -2, ... to 0, 1, 2, 3, ...).
+	 */
+	private void writeZigZagLong(final long l) throws IOException {
+		writeVarLong(l << 1 ^ l >> 63);
+	}
+	
 	private void writeFloat(final float f) throws IOException {
 		writeInt(Float.floatToIntBits(f));
 	}
@@ -149,13 +289,22 @@ public final class DefaultYggdrasilOutputStream extends YggdrasilOutputStream {
 				writeByte((Byte) o);
 				break;
 			case T_SHORT:
-				writeShort((Short) o);
+				if (version >= 2)
+					writeZigZagLong((Short) o);
+				else
+					writeShort((Short) o);
 				break;
 			case T_INT:
-				writeInt((Integer) o);
+				if (version >= 2)
+					writeZigZagLong((Integer) o);
+				else
+					writeInt((Integer) o);
 				break;
 			case T_LONG:
-				writeLong((Long) o);
+				if (version >= 2)
+					writeZigZagLong((Long) o);
+				else
+					writeLong((Long) o);
 				break;
 			case T_FLOAT:
 				writeFloat((Float) o);
@@ -255,7 +404,7 @@ public final class DefaultYggdrasilOutputStream extends YggdrasilOutputStream {
 	
 	@Override
 	protected void writeEnumType(final String type) throws IOException {
-		writeShortString(type);
+		writeRootTypeOrShortString(type);
 	}
 	
 	@Override
@@ -267,7 +416,7 @@ public final class DefaultYggdrasilOutputStream extends YggdrasilOutputStream {
 	
 	@Override
 	protected void writeObjectType(final String type) throws IOException {
-		writeShortString(type);
+		writeRootTypeOrShortString(type);
 	}
 	
 	@Override
@@ -84,8 +84,12 @@ public final class Yggdrasil {
 	 */
 	public final static int MAGIC_NUMBER = ('Y' << 24) + ('g' << 16) + ('g' << 8) + '\0';
 	
-	/** latest protocol version */
-	public final static short LATEST_VERSION = 1; // version 2 is only one minor change currently
+	/**
+	 * latest protocol version
+	 * <p>
+	 * Version 2 writes integers, lengths and references as varints and references all repeated class IDs and field names instead of only those longer than 4 bytes.
+	 */
+	public final static short LATEST_VERSION = 2;
 	
 	public final short version;
 	
@@ -114,6 +118,33 @@ public final class Yggdrasil {
 		return new DefaultYggdrasilInputStream(this, in);
 	}
 	
+	/**
+	 * Creates a stream to write a single value whose type is stored elsewhere, e.g. alongside the value in a database.
+	 * <p>
+	 * The stream does neither write a header nor the tag of the written object, thus it can only be read by a stream returned from
+	 * {@link #newValueInputStream(InputStream, Class, short)} with the same type and version. Only one object may be written to the stream, and it must be of the given type.
+	 * The class ID of the object is only written if it differs from the ID of the given type, e.g. for a subclass of the type which has its own ID.
+	 * The stream can be reused for further values with {@link DefaultYggdrasilOutputStream#reuse(Class)}.
+	 * 
+	 * @param out The stream to write to
+	 * @param type The type of the value, which must have the same tag as the written object
+	 * @param version The protocol version to use
+	 */
+	public DefaultYggdrasilOutputStream newValueOutputStream(final OutputStream out, final Class<?> type, final short version) {
+		return new DefaultYggdrasilOutputStream(this, out, type, version);
+	}
+	
+	/**
+	 * Creates a stream to read a single value written by a stream returned from {@link #newValueOutputStream(OutputStream, Class, short)}.
+	 * 
+	 * @param in The stream to read from
+	 * @param type The type of the value, as given when writing it
+	 * @param version The protocol version the value was written with
+	 */
+	public YggdrasilInputStream newValueInputStream(final InputStream in, final Class<?> type, final short version) {
+		return new DefaultYggdrasilInputStream(this, in, type, version);
+	}
+	
 	@Deprecated
 	public YggXMLOutputStream newXMLOutputStream(final OutputStream out) throws IOException {
 		return new YggXMLOutputStream(this, out);
@@ -184,7 +215,7 @@ public final class Yggdrasil {
 	
 	@SuppressWarnings({"unchecked", "rawtypes"})
 	@Nullable
-	private String getIDNoError(Class<?> c) {
+	String getIDNoError(Class<?> c) {
 		if (c == Object.class)
 			return "Object";
 		assert Tag.getType(c) == Tag.T_OBJECT || Tag.getType(c) == Tag.T_ENUM;
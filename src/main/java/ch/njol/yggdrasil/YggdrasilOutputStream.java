@@ -209,6 +209,14 @@ public abstract class YggdrasilOutputStream implements Flushable, Closeable {
 	private int nextObjectID = 0;
 	private final IdentityHashMap<Object, Integer> writtenObjects = new IdentityHashMap<>();
 	
+	/**
+	 * Forgets all objects written so far, i.e. the next object will be written as if it was the first one written to this stream.
+	 */
+	protected void reset() {
+		nextObjectID = 0;
+		writtenObjects.clear();
+	}
+	
 	public final void writeObject(final @Nullable Object o) throws IOException {
 		if (o == null) {
 			writeNull();